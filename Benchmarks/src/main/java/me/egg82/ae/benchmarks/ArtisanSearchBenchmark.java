@@ -0,0 +1,109 @@
+package me.egg82.ae.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import me.egg82.ae.core.BlockRegion;
+import me.egg82.ae.utils.BlockKeyUtil;
+import me.egg82.ae.utils.BlockUtil;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Artisan's similar-block search through BlockUtil against the recursive search it replaced,
+ * which is kept below as the baseline. Both read the same region, so only the search itself is
+ * measured. Setup fails if the two don't find exactly the same blocks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArtisanSearchBenchmark {
+    private static final int ORIGIN_X = 16;
+    private static final int ORIGIN_Y = 32;
+    private static final int ORIGIN_Z = 16;
+
+    @Param({ "2", "4", "6" })
+    private int level;
+
+    // How much of the area around the origin is the same block, from scattered ore to a solid wall
+    @Param({ "0.3", "0.6", "1.0" })
+    private double fill;
+
+    private World world;
+    private BlockRegion region;
+
+    @Setup
+    public void setup() {
+        FakeWorld fakeWorld = new FakeWorld(2, 2, 64);
+        Random random = new Random(82L);
+        for (int x = ORIGIN_X - level; x <= ORIGIN_X + level; x++) {
+            for (int z = ORIGIN_Z - level; z <= ORIGIN_Z + level; z++) {
+                for (int y = ORIGIN_Y - level; y <= ORIGIN_Y + level; y++) {
+                    fakeWorld.setType(x, y, z, random.nextDouble() < fill ? Material.STONE : Material.DIRT);
+                }
+            }
+        }
+        fakeWorld.setType(ORIGIN_X, ORIGIN_Y, ORIGIN_Z, Material.STONE);
+
+        world = fakeWorld.getWorld();
+        region = BlockRegion.captureAround(world, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, level, level, level);
+
+        Set<Long> iterative = new HashSet<>();
+        for (long key : searchIterative()) {
+            iterative.add(key);
+        }
+        Set<Long> recursive = new HashSet<>();
+        for (Location l : searchRecursive()) {
+            recursive.add(BlockKeyUtil.getKey(l.getBlockX(), l.getBlockY(), l.getBlockZ()));
+        }
+        if (!iterative.equals(recursive)) {
+            throw new IllegalStateException("Searches disagree: " + iterative.size() + " blocks against " + recursive.size() + ".");
+        }
+    }
+
+    @Benchmark
+    public long[] searchIterative() { return BlockUtil.getSimilarBlocks(region, ORIGIN_X, ORIGIN_Y, ORIGIN_Z, Material.STONE, (byte) 0, level + 1); }
+
+    @Benchmark
+    public Set<Location> searchRecursive() { return getSimilarBlocksLegacy(new Location(world, ORIGIN_X, ORIGIN_Y, ORIGIN_Z), Material.STONE, (byte) 0, level + 1, new HashSet<>()); }
+
+    private Set<Location> getSimilarBlocksLegacy(Location location, Material searchType, byte searchData, int depth, Set<Location> walked) {
+        Set<Location> retVal = new HashSet<>();
+        if (depth <= 0) {
+            return retVal;
+        }
+        if (!walked.add(location)) {
+            return retVal;
+        }
+
+        retVal.add(location);
+        for (Location l : getBlocksLegacy(location)) {
+            Material type = region.getType(l.getBlockX(), l.getBlockY(), l.getBlockZ());
+            if (type == Material.AIR || type == Material.BEDROCK || type == Material.BARRIER) {
+                continue;
+            }
+            if (type != searchType || region.getData(l.getBlockX(), l.getBlockY(), l.getBlockZ()) != searchData) {
+                continue;
+            }
+            retVal.addAll(getSimilarBlocksLegacy(l, searchType, searchData, depth - 1, walked));
+        }
+        return retVal;
+    }
+
+    // Stands in for BlockUtil.getBlocks(location, 1, 1, 1), with a Location for each Block
+    private List<Location> getBlocksLegacy(Location center) {
+        List<Location> retVal = new ArrayList<>();
+        for (int x = center.getBlockX() - 1; x <= center.getBlockX() + 1; x++) {
+            for (int z = center.getBlockZ() - 1; z <= center.getBlockZ() + 1; z++) {
+                for (int y = center.getBlockY() - 1; y <= center.getBlockY() + 1; y++) {
+                    retVal.add(new Location(world, x, y, z));
+                }
+            }
+        }
+        return retVal;
+    }
+}
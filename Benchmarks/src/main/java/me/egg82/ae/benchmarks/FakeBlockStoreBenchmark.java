@@ -0,0 +1,105 @@
+package me.egg82.ae.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import me.egg82.ae.core.FakeBlockData;
+import me.egg82.ae.services.FakeBlockStore;
+import me.egg82.ae.utils.BlockKeyUtil;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Block packets checked per millisecond through FakeBlockStore, against the Location-keyed map
+ * and per-packet allocations it replaced, which are kept below as the baseline.
+ *
+ * Only the work done per packet is measured. The cost of ProtocolLib's async queue needs a
+ * running server. With nothing faked, each packet stops at the isEmpty() check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FakeBlockStoreBenchmark {
+    private static final int PACKETS = 1024;
+
+    // Nothing faked, a few Mirage swings, and a lot of them
+    @Param({ "0", "64", "1024" })
+    private int faked;
+
+    private World world;
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private Material[] sent;
+
+    private ConcurrentMap<Location, FakeBlockData> fakeBlocks;
+
+    @Setup
+    public void setup() {
+        world = new FakeWorld(1, 1, 256).getWorld();
+        Random random = new Random(82L);
+
+        // Fakes are clustered around one spot, like Mirage's rings
+        long[] keys = new long[faked];
+        FakeBlockData[] data = new FakeBlockData[faked];
+        fakeBlocks = new ConcurrentHashMap<>();
+        for (int i = 0; i < faked; i++) {
+            int x = random.nextInt(16), y = 60 + random.nextInt(8), z = random.nextInt(16);
+            keys[i] = BlockKeyUtil.getKey(x, y, z);
+            data[i] = new FakeBlockData(Material.STONE);
+            fakeBlocks.put(new Location(world, x, y, z), data[i]);
+        }
+        FakeBlockStore.clear();
+        FakeBlockStore.putAll(world, keys, data);
+
+        // Packets land anywhere in a view distance worth of chunks, a few of them on the fakes
+        xs = new int[PACKETS];
+        ys = new int[PACKETS];
+        zs = new int[PACKETS];
+        sent = new Material[PACKETS];
+        for (int i = 0; i < PACKETS; i++) {
+            xs[i] = random.nextInt(320) - 160;
+            ys[i] = random.nextInt(128);
+            zs[i] = random.nextInt(320) - 160;
+            sent[i] = random.nextBoolean() ? Material.DIRT : Material.AIR;
+        }
+    }
+
+    @TearDown
+    public void tearDown() { FakeBlockStore.clear(); }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void store(Blackhole blackhole) {
+        for (int i = 0; i < PACKETS; i++) {
+            if (FakeBlockStore.isEmpty()) {
+                continue;
+            }
+
+            FakeBlockData fakeData = FakeBlockStore.get(world, xs[i], ys[i], zs[i]);
+            if (fakeData != null && (fakeData.getType() != sent[i] || fakeData.getData() != 0)) {
+                blackhole.consume(fakeData);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void locationMap(Blackhole blackhole) {
+        for (int i = 0; i < PACKETS; i++) {
+            Location location = new Location(world, xs[i], ys[i], zs[i]);
+            FakeBlockData sentData = new FakeBlockData(sent[i], (byte) 0);
+            FakeBlockData fakeData = fakeBlocks.get(location);
+            if (fakeData != null && !fakeData.equals(sentData)) {
+                blackhole.consume(fakeData);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package me.egg82.ae.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.UUID;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * A world with no server behind it, for benchmarks that read blocks through BlockRegion.
+ *
+ * Blocks live in one array covering a box of chunks from 0, 0. Everything outside of it, and
+ * every block left unset, is air. Only the calls BlockRegion makes are answered.
+ */
+class FakeWorld {
+    private final int chunksX;
+    private final int chunksZ;
+    private final int maxHeight;
+    private final Material[] types;
+    private final UUID uuid = UUID.randomUUID();
+
+    private final World world;
+
+    FakeWorld(int chunksX, int chunksZ, int maxHeight) {
+        this.chunksX = chunksX;
+        this.chunksZ = chunksZ;
+        this.maxHeight = maxHeight;
+        types = new Material[chunksX * 16 * chunksZ * 16 * maxHeight];
+        Arrays.fill(types, Material.AIR);
+
+        world = (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[] { World.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMaxHeight":
+                    return maxHeight;
+                case "getChunkAt":
+                    return chunk((Integer) args[0], (Integer) args[1]);
+                case "getUID":
+                    return uuid;
+                case "hashCode":
+                    return uuid.hashCode();
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "FakeWorld";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    World getWorld() { return world; }
+
+    void setType(int x, int y, int z, Material type) { types[index(x, y, z)] = type; }
+
+    Material getType(int x, int y, int z) {
+        if (x < 0 || z < 0 || y < 0 || x >= chunksX * 16 || z >= chunksZ * 16 || y >= maxHeight) {
+            return Material.AIR;
+        }
+        return types[index(x, y, z)];
+    }
+
+    private int index(int x, int y, int z) { return (y * chunksZ * 16 + z) * chunksX * 16 + x; }
+
+    private Chunk chunk(int chunkX, int chunkZ) {
+        ChunkSnapshot snapshot = (ChunkSnapshot) Proxy.newProxyInstance(ChunkSnapshot.class.getClassLoader(), new Class<?>[] { ChunkSnapshot.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getBlockType":
+                    return getType(chunkX * 16 + (Integer) args[0], (Integer) args[1], chunkZ * 16 + (Integer) args[2]);
+                case "getData":
+                    return 0;
+                case "isSectionEmpty":
+                    return false;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+        return (Chunk) Proxy.newProxyInstance(Chunk.class.getClassLoader(), new Class<?>[] { Chunk.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getChunkSnapshot":
+                    return snapshot;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package me.egg82.ae.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.extended.CachedConfigValues;
+import me.egg82.ae.tasks.LoadoutTicker;
+import me.egg82.ae.utils.ConfigUtil;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Time taken by single LoadoutTicker ticks with stagger-tasks on and off, sampled so the
+ * percentiles show the spikes. Off, every player is handled on the ticks an effect is due, and
+ * the ticks where several periods line up are the slow ones. On, each tick only handles the
+ * players bucketed on it, so p0.99 and the max should sit close to the median.
+ *
+ * Effects are registered with the periods the plugin uses, and always run. Each one burns a
+ * fixed amount of CPU per player in place of real work, and loadouts aren't resolved.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoadoutTickerBenchmark {
+    private static final long[] PERIODS = new long[] { 30L, 40L, 30L, 3L, 20L, 100L, 40L, 100L };
+    private static final long WORK = 64L;
+
+    @Param({ "false", "true" })
+    private boolean stagger;
+
+    @Param({ "100", "500" })
+    private int players;
+
+    private LoadoutTicker ticker;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        ConfigUtil.setConfiguration(null, CachedConfigValues.builder().staggerTasks(stagger).build());
+
+        ticker = new LoadoutTicker(p -> LoadoutSnapshot.EMPTY);
+        for (long period : PERIODS) {
+            ticker.register(null, period, (player, loadout) -> {
+                Blackhole.consumeCPU(WORK);
+                blackhole.consume(player);
+            });
+        }
+        for (int i = 0; i < players; i++) {
+            ticker.addPlayer(player(UUID.randomUUID()));
+        }
+    }
+
+    @Benchmark
+    public void tick() { ticker.run(); }
+
+    private static Player player(UUID uuid) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] { Player.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uuid;
+                case "hashCode":
+                    return uuid.hashCode();
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "FakePlayer";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
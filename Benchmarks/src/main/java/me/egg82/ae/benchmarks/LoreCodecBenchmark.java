@@ -0,0 +1,195 @@
+package me.egg82.ae.benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import me.egg82.ae.api.AdvancedEnchantment;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.utils.LoreCodec;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lore parsing and rendering through LoreCodec against the split/regex/linear-scan code it
+ * replaced, which is kept below as the baseline. Run with {@code -prof gc} for allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoreCodecBenchmark {
+    private static final int[] NUMERAL_VALUES = { 1000, 900, 500, 400, 100, 90, 50, 40, 10, 9, 5, 4, 1 };
+    private static final String[] NUMERAL_STRINGS = { "M", "CM", "D", "CD", "C", "XC", "L", "XL", "X", "IX", "V", "IV", "I" };
+
+    private List<String> lore;
+    private List<AdvancedEnchantment> enchantments;
+    private int[] levels;
+
+    @Setup
+    public void setup() {
+        enchantments = new ArrayList<>(AdvancedEnchantment.values());
+        enchantments.sort(Comparator.comparing(GenericEnchantment::getName));
+
+        // A typical enchanted item: a few custom enchants, souls and some unrelated lore
+        lore = new ArrayList<>();
+        lore.add(ChatColor.DARK_PURPLE + "Forged in the nether");
+        lore.add(LoreCodec.renderEnchant(AdvancedEnchantment.VAMPIRIC, 3));
+        lore.add(LoreCodec.renderEnchant(AdvancedEnchantment.BLEEDING, 2));
+        lore.add(LoreCodec.renderEnchant(AdvancedEnchantment.VORPAL, 5));
+        lore.add(LoreCodec.renderEnchant(AdvancedEnchantment.DECAY_CURSE, 1));
+        lore.add(LoreCodec.renderSouls(27));
+        lore.add(ChatColor.GRAY + "Owner: Steve");
+
+        levels = new int[] { 1, 2, 3, 4, 5, 9, 14, 27 };
+    }
+
+    @Benchmark
+    public void decodeCodec(Blackhole blackhole) {
+        Map<GenericEnchantment, Integer> enchants = new HashMap<>();
+        int souls = -1;
+        for (String line : lore) {
+            LoreCodec.decodeEnchant(line, enchants);
+            if (souls < 0) {
+                souls = LoreCodec.decodeSouls(line);
+            }
+        }
+        blackhole.consume(enchants);
+        blackhole.consume(souls);
+    }
+
+    @Benchmark
+    public void decodeLegacy(Blackhole blackhole) {
+        Map<GenericEnchantment, Integer> enchants = new HashMap<>();
+        for (String line : lore) {
+            line = ChatColor.stripColor(line).trim();
+            String[] split = line.split("\\s+");
+            if (split.length <= 1) {
+                continue;
+            }
+
+            String[] enchantName = Arrays.copyOf(split, split.length - 1, String[].class);
+            Optional<AdvancedEnchantment> enchant = getByNameLegacy(String.join(" ", enchantName));
+            if (!enchant.isPresent()) {
+                continue;
+            }
+
+            Optional<Integer> level = getLevelLegacy(split[split.length - 1]);
+            if (level.isPresent()) {
+                enchants.put(enchant.get(), level.get());
+            }
+        }
+        blackhole.consume(enchants);
+
+        int souls = -1;
+        for (String line : lore) {
+            line = ChatColor.stripColor(line).trim();
+            String[] split = line.split("\\s+");
+            if (split.length <= 1 || !split[0].equals("Souls:")) {
+                continue;
+            }
+
+            Optional<Integer> level = getLevelLegacy(split[split.length - 1]);
+            if (level.isPresent()) {
+                souls = level.get();
+                break;
+            }
+        }
+        blackhole.consume(souls);
+    }
+
+    @Benchmark
+    public void renderCodec(Blackhole blackhole) {
+        for (int level : levels) {
+            blackhole.consume(LoreCodec.renderEnchant(AdvancedEnchantment.VAMPIRIC, level));
+            blackhole.consume(LoreCodec.renderEnchant(AdvancedEnchantment.DECAY_CURSE, level));
+            blackhole.consume(LoreCodec.renderSouls(level));
+        }
+    }
+
+    @Benchmark
+    public void renderLegacy(Blackhole blackhole) {
+        for (int level : levels) {
+            blackhole.consume(ChatColor.GRAY + AdvancedEnchantment.VAMPIRIC.getFriendlyName() + " " + getNumeralsLegacy(level));
+            blackhole.consume(ChatColor.RED + AdvancedEnchantment.DECAY_CURSE.getFriendlyName() + " " + getNumeralsLegacy(level));
+            blackhole.consume(ChatColor.GRAY + "Souls: " + getNumeralsLegacy(level));
+        }
+    }
+
+    private Optional<AdvancedEnchantment> getByNameLegacy(String name) {
+        for (AdvancedEnchantment enchantment : enchantments) {
+            if (enchantment.getName().equalsIgnoreCase(name) || enchantment.getFriendlyName().equalsIgnoreCase(name)) {
+                return Optional.of(enchantment);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Integer> getLevelLegacy(String numerals) {
+        numerals = numerals.toUpperCase().replaceAll("[^MDCLXVIO]", "");
+        if (numerals.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int retVal = 0;
+
+        for (int i = 0; i < numerals.length(); i++) {
+            int one = getValueLegacy(numerals.charAt(i));
+            int two = i < numerals.length() - 1 ? getValueLegacy(numerals.charAt(i + 1)) : -1;
+
+            if (one <= 0) {
+                continue;
+            }
+            if (i < numerals.length() - 1 && two <= 0) {
+                i++;
+                continue;
+            }
+
+            if (one < two) {
+                retVal += two - one;
+                i++;
+            } else {
+                retVal += one;
+            }
+        }
+
+        return Optional.of(retVal);
+    }
+
+    private static int getValueLegacy(char c) {
+        switch (c) {
+            case 'I':
+                return 1;
+            case 'V':
+                return 5;
+            case 'X':
+                return 10;
+            case 'L':
+                return 50;
+            case 'C':
+                return 100;
+            case 'D':
+                return 500;
+            case 'M':
+                return 1000;
+            default:
+                return 0;
+        }
+    }
+
+    private static String getNumeralsLegacy(int level) {
+        if (level <= 0) {
+            return "O";
+        }
+
+        StringBuilder retVal = new StringBuilder();
+        for (int i = 0; i < NUMERAL_VALUES.length; i++) {
+            while (level >= NUMERAL_VALUES[i]) {
+                retVal.append(NUMERAL_STRINGS[i]);
+                level -= NUMERAL_VALUES[i];
+            }
+        }
+        return retVal.toString();
+    }
+}
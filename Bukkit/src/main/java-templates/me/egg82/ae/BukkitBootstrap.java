@@ -184,10 +184,6 @@ public class BukkitBootstrap extends JavaPlugin {
                 .addRepository(Repository.builder("https://repo1.maven.org/maven2/").addProxy("https://nexus.egg82.me/repository/maven-central/").build());
         buildInject(effectLib, jarsDir, classLoader, "EffectLib");
 
-        Artifact.Builder expiringMap = Artifact.builder("net.jodah", "expiringmap", "${expiringmap.version}", cacheDir)
-                .addRepository(Repository.builder("https://repo1.maven.org/maven2/").addProxy("https://nexus.egg82.me/repository/maven-central/").build());
-        buildInject(expiringMap, jarsDir, classLoader, "ExpiringMap");
-
         // Global
 
         Artifact.Builder caffeine = Artifact.builder("com.github.ben-manes.caffeine", "caffeine", "${caffeine.version}", cacheDir)
@@ -23,10 +23,19 @@ import me.egg82.ae.extended.Configuration;
 import me.egg82.ae.hooks.PlayerAnalyticsHook;
 import me.egg82.ae.hooks.PluginHook;
 import me.egg82.ae.hooks.ProtocolLibHook;
+import me.egg82.ae.services.AreaBreakScheduler;
+import me.egg82.ae.services.EnchantPresence;
+import me.egg82.ae.services.FakeBlockReverter;
 import me.egg82.ae.services.GameAnalyticsErrorHandler;
+import me.egg82.ae.services.LoadoutCache;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.PickupIndex;
+import me.egg82.ae.services.PlayerFlags;
 import me.egg82.ae.services.PluginMessageFormatter;
+import me.egg82.ae.services.StatusEffectEngine;
 import me.egg82.ae.services.block.FakeBlockHandler;
 import me.egg82.ae.services.entity.EntityItemHandler;
+import me.egg82.ae.services.item.ItemDataHandler;
 import me.egg82.ae.tasks.*;
 import me.egg82.ae.utils.*;
 import ninja.egg82.events.BukkitEventSubscriber;
@@ -40,8 +49,11 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
 import org.slf4j.Logger;
@@ -150,6 +162,15 @@ public class AdvancedEnchantments {
         }
         events.clear();
 
+        LoadoutCache.invalidateAll();
+        EnchantPresence.clear();
+        PlayerFlags.clear();
+        PermissionCache.invalidateAll();
+        PickupIndex.clear();
+        StatusEffectEngine.clear();
+        AreaBreakScheduler.clear();
+        FakeBlockReverter.flush();
+
         unloadHooks();
         unloadServices();
 
@@ -205,6 +226,12 @@ public class AdvancedEnchantments {
             logger.error(ex.getMessage(), ex);
         }
 
+        try {
+            ServiceLocator.register(BukkitVersionUtil.getBestMatch(ItemDataHandler.class, BukkitVersionUtil.getGameVersion(), "me.egg82.ae.services.item", false), false);
+        } catch (InstantiationException | IllegalAccessException ex) {
+            logger.error(ex.getMessage(), ex);
+        }
+
         ServiceLocator.register(new SpigotUpdater(plugin, 45790));
     }
 
@@ -243,6 +270,16 @@ public class AdvancedEnchantments {
     private void loadEvents() {
         events.add(BukkitEvents.subscribe(plugin, PlayerLoginEvent.class, EventPriority.LOW).handler(e -> new PlayerLoginUpdateNotifyHandler(plugin, commandManager).accept(e)));
 
+        eventHolders.add(new LoadoutEvents(plugin));
+        eventHolders.add(new ItemMigrationEvents(plugin));
+        eventHolders.add(new PermissionEvents(plugin));
+        eventHolders.add(new PickupIndexEvents(plugin));
+        eventHolders.add(new StatusEffectEvents(plugin));
+        CombatPipeline combatPipeline = new CombatPipeline(plugin);
+        eventHolders.add(combatPipeline);
+        BlockBreakPipeline blockBreakPipeline = new BlockBreakPipeline(plugin);
+        eventHolders.add(blockBreakPipeline);
+
         try {
             // Class check here (for this specific event set) as a hack around some Paper forks which seem to have issues
             Class.forName("com.destroystokyo.paper.loottable.LootableInventoryReplenishEvent");
@@ -253,62 +290,76 @@ public class AdvancedEnchantments {
         eventHolders.add(new AnvilEvents(plugin));
         eventHolders.add(new GrindstoneEvents(plugin));
 
-        eventHolders.add(new AegisEvents(plugin));
-        eventHolders.add(new AerialEvents(plugin));
-        eventHolders.add(new ArtisanEvents(plugin));
+        eventHolders.add(new AegisEvents(combatPipeline));
+        eventHolders.add(new AerialEvents(combatPipeline));
+        eventHolders.add(new ArtisanEvents(plugin, blockBreakPipeline));
         eventHolders.add(new BeheadingEvents(plugin));
-        eventHolders.add(new BleedingEvents(plugin));
-        eventHolders.add(new BlindingEvents(plugin));
+        eventHolders.add(new BleedingEvents(combatPipeline));
+        eventHolders.add(new BlindingEvents(combatPipeline));
         eventHolders.add(new BurstEvents(plugin));
-        eventHolders.add(new ChargingEvents(plugin));
-        eventHolders.add(new DisarmingEvents(plugin));
-        eventHolders.add(new EnsnaringEvents(plugin));
-        eventHolders.add(new EtherealEvents(plugin, effectManager));
-        eventHolders.add(new ExplosiveEvents(plugin));
-        eventHolders.add(new FieryEvents(plugin, effectManager));
-        eventHolders.add(new FreezingEvents(plugin));
-        eventHolders.add(new MarkingEvents(plugin));
+        eventHolders.add(new ChargingEvents(combatPipeline));
+        eventHolders.add(new DisarmingEvents(combatPipeline));
+        eventHolders.add(new EnsnaringEvents(plugin, combatPipeline));
+        eventHolders.add(new EtherealEvents(combatPipeline, effectManager));
+        eventHolders.add(new ExplosiveEvents(blockBreakPipeline));
+        eventHolders.add(new FieryEvents(plugin, combatPipeline, effectManager));
+        eventHolders.add(new FreezingEvents(plugin, combatPipeline, blockBreakPipeline));
+        eventHolders.add(new MarkingEvents(plugin, combatPipeline));
         eventHolders.add(new MirageEvents(plugin, effectManager));
         eventHolders.add(new MultishotEvents(plugin));
-        eventHolders.add(new PoisonousEvents(plugin));
-        eventHolders.add(new ProficiencyEvents(plugin));
-        eventHolders.add(new RampageEvents(plugin));
+        eventHolders.add(new PoisonousEvents(combatPipeline));
+        eventHolders.add(new ProficiencyEvents(plugin, blockBreakPipeline));
+        eventHolders.add(new RampageEvents(plugin, combatPipeline));
         eventHolders.add(new ReapingEvents(plugin, commandManager));
-        eventHolders.add(new SmeltingEvents(plugin)); // This should be registered after artisan & explosive, for compatibility
+        eventHolders.add(new SmeltingEvents(plugin, blockBreakPipeline));
         eventHolders.add(new SoulboundEvents(plugin));
-        eventHolders.add(new StillnessEvents(plugin)); // This should be registered after artisan & explosive, for compatibility
-        eventHolders.add(new ThunderousEvents(plugin));
-        eventHolders.add(new TornadoEvents(plugin, effectManager));
+        eventHolders.add(new StillnessEvents(blockBreakPipeline));
+        eventHolders.add(new ThunderousEvents(plugin, combatPipeline));
+        eventHolders.add(new TornadoEvents(plugin, combatPipeline, effectManager));
         eventHolders.add(new TrailblazerEvents(plugin));
         eventHolders.add(new VacuumEvents(plugin, commandManager));
-        eventHolders.add(new VampiricEvents(plugin, effectManager));
+        eventHolders.add(new VampiricEvents(combatPipeline, effectManager));
 
         eventHolders.add(new AdherenceEvents(plugin));
         eventHolders.add(new DecayEvents(plugin));
-        eventHolders.add(new EmpathyEvents(plugin));
-        eventHolders.add(new EnderEvents(plugin));
-        eventHolders.add(new FragilityEvents(plugin));
-        eventHolders.add(new LeechingEvents(plugin, effectManager));
-        eventHolders.add(new MisfortuneEvents(plugin)); // This should be registered after artisan & explosive, for compatibility
-        eventHolders.add(new PacifismEvents(plugin, effectManager));
+        eventHolders.add(new EmpathyEvents(combatPipeline));
+        eventHolders.add(new EnderEvents(plugin, combatPipeline));
+        eventHolders.add(new FragilityEvents(combatPipeline));
+        eventHolders.add(new LeechingEvents(combatPipeline, effectManager));
+        eventHolders.add(new MisfortuneEvents(blockBreakPipeline));
+        eventHolders.add(new PacifismEvents(combatPipeline, effectManager));
         eventHolders.add(new SilenceEvents(plugin, commandManager));
         eventHolders.add(new StickinessEvents(plugin));
-        eventHolders.add(new TreasonEvents(plugin));
+        eventHolders.add(new TreasonEvents(combatPipeline));
     }
 
     private void loadTasks() {
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskAntigravity(), 0L, 30L));
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskStatusEffects(), 0L, 1L));
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskAreaBreak(), 0L, 1L));
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskFakeBlockRevert(), 0L, 1L));
         tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskBleeding(effectManager), 0L, 20L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskCalling(), 0L, 40L));
         tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskFreezing(), 0L, 20L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskGrogginess(), 0L, 30L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskMagnetic(), 0L, 3L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskNight(), 0L, 20L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskRepairing(), 0L, 100L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskWither(), 0L, 40L));
-        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskVoid(), 0L, 100L));
+
+        LoadoutTicker loadoutTicker = new LoadoutTicker();
+        loadoutTicker.register(AdvancedEnchantment.ANTIGRAVITY, 30L, new TaskAntigravity());
+        loadoutTicker.register(AdvancedEnchantment.CALLING_CURSE, 40L, new TaskCalling());
+        loadoutTicker.register(AdvancedEnchantment.GROGGINESS_CURSE, 30L, new TaskGrogginess());
+        loadoutTicker.register(AdvancedEnchantment.MAGNETIC, 3L, new TaskMagnetic());
+        loadoutTicker.register(null, 20L, new TaskNight()); // Also resets the time for players who took the helmet off
+        loadoutTicker.register(AdvancedEnchantment.REPAIRING, 100L, new TaskRepairing());
+        loadoutTicker.register(AdvancedEnchantment.WITHER_CURSE, 40L, new TaskWither());
+        loadoutTicker.register(AdvancedEnchantment.VOID_CURSE, 100L, new TaskVoid());
+        events.add(BukkitEvents.subscribe(plugin, PlayerJoinEvent.class, EventPriority.LOWEST).handler(e -> loadoutTicker.addPlayer(e.getPlayer())));
+        events.add(BukkitEvents.subscribe(plugin, PlayerQuitEvent.class, EventPriority.MONITOR).handler(e -> loadoutTicker.removePlayer(e.getPlayer())));
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadoutTicker.addPlayer(player);
+        }
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, loadoutTicker, 0L, 1L));
 
         tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskClearSouls(), 0L, 100L));
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskPresence(), 0L, 100L));
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskPickupIndex(), 0L, 100L));
+        tasks.add(Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, new TaskPermissions(), 200L, 200L));
     }
 
     private void loadHooks() {
@@ -5,11 +5,16 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import me.egg82.ae.core.ItemData;
+import me.egg82.ae.core.EnchantData;
+import me.egg82.ae.core.ItemFingerprint;
+import me.egg82.ae.services.item.ItemDataHandler;
 import me.egg82.ae.utils.ConfigUtil;
+import me.egg82.ae.utils.EnchantDataUtil;
 import me.egg82.ae.utils.EnchantmentUtil;
+import me.egg82.ae.utils.LoreCodec;
+import ninja.egg82.service.ServiceLocator;
+import ninja.egg82.service.ServiceNotFoundException;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.enchantments.EnchantmentTarget;
@@ -22,7 +27,7 @@ import org.slf4j.LoggerFactory;
 public class BukkitEnchantableItem extends GenericEnchantableItem {
     private static Logger logger = LoggerFactory.getLogger(BukkitEnchantableItem.class);
 
-    private static Cache<ItemData, BukkitEnchantableItem> cache = Caffeine.newBuilder().expireAfterAccess(5L, TimeUnit.MINUTES).build();
+    private static volatile Cache<ItemFingerprint, BukkitEnchantableItem> cache = createCache(10000L, TimeUnit.MINUTES.toMillis(5L));
     private static LoadingCache<Material, Set<GenericEnchantmentTarget>> targetCache = Caffeine.newBuilder().build(k -> getTargetsExpensive(k));
 
     public static BukkitEnchantableItem fromItemStack(ItemStack item) {
@@ -30,22 +35,103 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
             return null;
         }
 
-        return cache.get(getItemData(item), k -> new BukkitEnchantableItem(item)).clone(item);
+        return cache.get(getFingerprint(item), k -> new BukkitEnchantableItem(item)).clone(item);
     }
 
     public static void forceCache(ItemStack item, BukkitEnchantableItem enchantableItem) {
         if (item.hasItemMeta()) {
-            cache.put(getItemData(item), enchantableItem);
+            cache.put(getFingerprint(item), enchantableItem);
         }
     }
 
-    private static ItemData getItemData(ItemStack item) {
-        ItemMeta meta = getMeta(item);
+    /**
+     * Replaces the item cache with one using the given limits. Existing entries are dropped.
+     */
+    public static void setCacheLimits(long maximumSize, long expireMillis) {
+        Cache<ItemFingerprint, BukkitEnchantableItem> oldCache = cache;
+        cache = createCache(maximumSize, expireMillis);
+        oldCache.invalidateAll();
+    }
+
+    private static Cache<ItemFingerprint, BukkitEnchantableItem> createCache(long maximumSize, long expireMillis) {
+        return Caffeine.newBuilder().maximumSize(Math.max(0L, maximumSize)).expireAfterAccess(Math.max(0L, expireMillis), TimeUnit.MILLISECONDS).build();
+    }
+
+    private static ItemFingerprint getFingerprint(ItemStack item) {
+        ItemFingerprint.Builder retVal = ItemFingerprint.builder().add(item.getType().ordinal());
+        if (!item.hasItemMeta()) {
+            return retVal.build();
+        }
+
+        // Enchant maps have no reliable order, so combine them order-independently
+        long enchants = 0L;
+        for (Map.Entry<Enchantment, Integer> kvp : item.getEnchantments().entrySet()) {
+            enchants += ItemFingerprint.mix(((long) EnchantmentUtil.getName(kvp.getKey()).hashCode() << 32) | (kvp.getValue() & 0xFFFFFFFFL));
+        }
+        retVal.add(enchants);
+
+        ItemDataHandler dataHandler = getDataHandler();
+        Optional<byte[]> data = dataHandler != null ? dataHandler.getData(item) : Optional.empty();
+        if (data.isPresent()) {
+            // Stored data is authoritative, lore doesn't matter
+            return retVal.add(1L).add(data.get()).build();
+        }
+
+        // No stored data, so either no custom enchants or a legacy item that hasn't been migrated yet
+        ItemMeta meta = item.getItemMeta();
         if (meta == null) {
-            return new ItemData();
+            return retVal.build();
         }
 
-        return new ItemData(meta.getEnchants(), meta.hasLore() ? meta.getLore() : null, targetCache.get(item.getType()));
+        retVal.add(2L);
+        if (meta.hasLore()) {
+            for (String line : meta.getLore()) {
+                retVal.add(line);
+            }
+        }
+        return retVal.build();
+    }
+
+    /**
+     * Moves the enchants and souls in a legacy item's lore into stored data. Returns true if the
+     * item was changed, in which case the caller writes it back to the slot it came from.
+     * Main thread only.
+     */
+    public static boolean migrate(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return false;
+        }
+
+        ItemDataHandler dataHandler = getDataHandler();
+        if (dataHandler == null || !dataHandler.canStoreData()) {
+            return false;
+        }
+
+        // Checked before copying the meta, most items have been migrated already
+        if (dataHandler.getData(item).isPresent()) {
+            return false;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null || !meta.hasLore()) {
+            return false;
+        }
+
+        EnchantmentLevels advancedEnchantments = new EnchantmentLevels();
+        advancedEnchantments.setAll(getAdvancedEnchantments(meta));
+        int souls = getNumSouls(meta);
+        if (advancedEnchantments.isEmpty() && souls <= 0) {
+            return false;
+        }
+
+        if (ConfigUtil.getDebugOrFalse()) {
+            logger.info("Migrating lore enchants to stored data for " + item.getType());
+        }
+        if (!dataHandler.setData(meta, EnchantDataUtil.encode(advancedEnchantments, souls))) {
+            return false;
+        }
+        item.setItemMeta(meta);
+        return true;
     }
 
     private ItemStack item;
@@ -59,22 +145,32 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
 
         this.item = item;
         targets.addAll(targetCache.get(item.getType()));
-        enchantments.putAll(getBukkitEnchantments(item));
-        enchantments.putAll(getAdvancedEnchantments(item));
+        enchantments.setAll(getBukkitEnchantments(item));
+
+        ItemMeta meta = item.getItemMeta();
+        ItemDataHandler dataHandler = getDataHandler();
+        Optional<EnchantData> data = dataHandler != null && meta != null ? dataHandler.getData(meta).flatMap(EnchantDataUtil::decode) : Optional.empty();
+        if (data.isPresent()) {
+            enchantments.setAll(data.get().getEnchantments());
+            souls = data.get().getSouls();
+        } else {
+            // Legacy item, read the lore. The item is never changed here, see migrate
+            enchantments.setAll(getAdvancedEnchantments(meta));
+            souls = getNumSouls(meta);
+        }
         // TODO: Enforce conflicts (with vanilla enchants as well - except durability 0), accounting for forced enchants (somehow)
-        souls = getNumSouls(item);
+        publishSnapshot();
     }
 
-    private BukkitEnchantableItem(ItemStack item, Set<GenericEnchantmentTarget> targets, Map<GenericEnchantment, Integer> enchantments, int souls) {
+    private BukkitEnchantableItem(ItemStack item, Set<GenericEnchantmentTarget> targets, EnchantSnapshot snapshot) {
         super(item);
         this.item = item;
         this.targets.addAll(targets);
-        this.enchantments.putAll(enchantments);
-        // TODO: Enforce conflicts (with vanilla enchants as well - except durability 0), accounting for forced enchants (somehow)
-        this.souls = souls;
+        loadSnapshot(snapshot);
     }
 
-    private BukkitEnchantableItem clone(ItemStack item) { return new BukkitEnchantableItem(item, targets, enchantments, souls); }
+    // The cached instance may still be changed by whoever forced it into the cache, so copy its published snapshot
+    private BukkitEnchantableItem clone(ItemStack item) { return new BukkitEnchantableItem(item, targets, getSnapshot()); }
 
     private static Set<GenericEnchantmentTarget> getTargetsExpensive(Material material) {
         Set<GenericEnchantmentTarget> retVal = new HashSet<>();
@@ -100,136 +196,57 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         Map<GenericEnchantment, Integer> retVal = new HashMap<>();
         for (Map.Entry<Enchantment, Integer> kvp : item.getEnchantments().entrySet()) {
             if (ConfigUtil.getDebugOrFalse()) {
-                logger.info("Found Bukkit enchant for " + item.getType() + ": " + EnchantmentUtil.getName(kvp.getKey()) + " " + getNumerals(kvp.getValue()));
+                logger.info("Found Bukkit enchant for " + item.getType() + ": " + EnchantmentUtil.getName(kvp.getKey()) + " " + LoreCodec.getNumerals(kvp.getValue()));
             }
             retVal.put(BukkitEnchantment.fromEnchant(kvp.getKey()), kvp.getValue());
         }
         return retVal;
     }
 
-    private static Map<GenericEnchantment, Integer> getAdvancedEnchantments(ItemStack item) {
+    private static Map<GenericEnchantment, Integer> getAdvancedEnchantments(ItemMeta meta) {
         Map<GenericEnchantment, Integer> retVal = new HashMap<>();
 
-        ItemMeta meta = item.getItemMeta();
         if (meta == null || !meta.hasLore()) {
             return retVal;
         }
 
         for (String line : meta.getLore()) {
-            line = ChatColor.stripColor(line).trim();
-            String[] split = line.split("\\s+");
-            if (split.length <= 1) {
-                continue;
-            }
-
-            String[] enchantName = Arrays.copyOf(split, split.length - 1, String[].class);
-            Optional<AdvancedEnchantment> enchant = AdvancedEnchantment.getByName(String.join(" ", enchantName));
-            if (!enchant.isPresent()) {
-                continue;
-            }
-
-            Optional<Integer> level = getLevel(split[split.length - 1]);
-            if (!level.isPresent()) {
-                continue;
-            }
-
             // TODO: Enforce level requirements, accounting for forced enchants (somehow)
+            LoreCodec.decodeEnchant(line, retVal);
+        }
 
-            if (ConfigUtil.getDebugOrFalse()) {
-                logger.info("Found AE enchant for " + item.getType() + ": " + enchant.get().getName() + " " + getNumerals(level.get()));
+        if (ConfigUtil.getDebugOrFalse()) {
+            for (Map.Entry<GenericEnchantment, Integer> kvp : retVal.entrySet()) {
+                logger.info("Found AE enchant in lore: " + kvp.getKey().getName() + " " + LoreCodec.getNumerals(kvp.getValue()));
             }
-            retVal.put(enchant.get(), level.get());
         }
 
         return retVal;
     }
 
-    private static int getNumSouls(ItemStack item) {
-        ItemMeta meta = item.getItemMeta();
+    private static int getNumSouls(ItemMeta meta) {
         if (meta == null || !meta.hasLore()) {
             return 0;
         }
 
         for (String line : meta.getLore()) {
-            line = ChatColor.stripColor(line).trim();
-            String[] split = line.split("\\s+");
-            if (split.length <= 1) {
-                continue;
-            }
-
-            if (!split[0].equals("Souls:")) {
-                continue;
-            }
-
-            Optional<Integer> level = getLevel(split[split.length - 1]);
-            if (!level.isPresent()) {
+            int souls = LoreCodec.decodeSouls(line);
+            if (souls < 0) {
                 continue;
             }
 
             if (ConfigUtil.getDebugOrFalse()) {
-                logger.info("Found soul num for " + item.getType() + ": " + getNumerals(level.get()));
+                logger.info("Found soul num in lore: " + LoreCodec.getNumerals(souls));
             }
-            return level.get();
+            return souls;
         }
 
         return 0;
     }
 
-    private static Optional<Integer> getLevel(String numerals) {
-        numerals = numerals.toUpperCase().replaceAll("[^MDCLXVIO]", "");
-        if (numerals.isEmpty()) {
-            return Optional.empty();
-        }
-
-        int retVal = 0;
-
-        for (int i = 0; i < numerals.length(); i++) {
-            int one = getValue(numerals.charAt(i));
-            int two = i < numerals.length() - 1 ? getValue(numerals.charAt(i + 1)) : -1;
-
-            if (one <= 0) {
-                continue;
-            }
-            if (i < numerals.length() - 1 && two <= 0) {
-                i++;
-                continue;
-            }
-
-            if (one < two) {
-                retVal += two - one;
-                i++;
-            } else {
-                retVal += one;
-            }
-        }
-
-        return Optional.of(retVal);
-    }
-
-    private static int getValue(char c) {
-        switch (c) {
-            case 'I':
-                return 1;
-            case 'V':
-                return 5;
-            case 'X':
-                return 10;
-            case 'L':
-                return  50;
-            case 'C':
-                return 100;
-            case 'D':
-                return 500;
-            case 'M':
-                return 1000;
-            default:
-                return 0;
-        }
-    }
-
     public void setEnchantmentLevel(GenericEnchantment enchantment, int level) {
         if (ConfigUtil.getDebugOrFalse()) {
-            logger.info("Setting enchant level for " + item + ": " + enchantment.getName() + " " + getNumerals(level));
+            logger.info("Setting enchant level for " + item + ": " + enchantment.getName() + " " + LoreCodec.getNumerals(level));
         }
         super.setEnchantmentLevel(enchantment, level);
         rewriteEnchantMeta();
@@ -239,7 +256,7 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         if (ConfigUtil.getDebugOrFalse()) {
             if (enchantments != null) {
                 for (Map.Entry<GenericEnchantment, Integer> kvp : enchantments.entrySet()) {
-                    logger.info("Setting enchant level for " + item + ": " + kvp.getKey().getName() + " " + getNumerals(kvp.getValue()));
+                    logger.info("Setting enchant level for " + item + ": " + kvp.getKey().getName() + " " + LoreCodec.getNumerals(kvp.getValue()));
                 }
             }
         }
@@ -249,7 +266,7 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
 
     public void addEnchantment(GenericEnchantment enchantment) {
         if (ConfigUtil.getDebugOrFalse()) {
-            logger.info("Adding enchant for " + item + ": " + enchantment.getName() + " " + getNumerals(enchantment.getMinLevel()));
+            logger.info("Adding enchant for " + item + ": " + enchantment.getName() + " " + LoreCodec.getNumerals(enchantment.getMinLevel()));
         }
         super.addEnchantment(enchantment);
         rewriteEnchantMeta();
@@ -259,7 +276,7 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         if (ConfigUtil.getDebugOrFalse()) {
             if (enchantments != null) {
                 for (GenericEnchantment enchantment : enchantments) {
-                    logger.info("Adding enchant for " + item + ": " + (enchantment == null ? "null" : enchantment.getName() + getNumerals(enchantment.getMinLevel())));
+                    logger.info("Adding enchant for " + item + ": " + (enchantment == null ? "null" : enchantment.getName() + LoreCodec.getNumerals(enchantment.getMinLevel())));
                 }
             }
         }
@@ -287,6 +304,14 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         rewriteEnchantMeta();
     }
 
+    public void setSnapshot(EnchantSnapshot snapshot) {
+        if (ConfigUtil.getDebugOrFalse()) {
+            logger.info("Setting enchant snapshot for " + item);
+        }
+        super.setSnapshot(snapshot);
+        rewriteEnchantMeta();
+    }
+
     public void setSouls(int souls) {
         if (ConfigUtil.getDebugOrFalse()) {
             logger.info("Setting souls for " + item + ": " + souls);
@@ -315,7 +340,7 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         List<String> lore = !meta.hasLore() ? new ArrayList<>() : stripEnchantsAndSouls(meta.getLore()); // Remove all custom enchants from lore, we'll put them back later
         // Remove any Bukkit enchants that don't exist on the item any more
         for (Map.Entry<Enchantment, Integer> kvp : item.getEnchantments().entrySet()) {
-            if (!enchantments.containsKey(BukkitEnchantment.fromEnchant(kvp.getKey()))) {
+            if (!enchantments.contains(BukkitEnchantment.fromEnchant(kvp.getKey()))) {
                 meta.removeEnchant(kvp.getKey());
             }
         }
@@ -328,25 +353,25 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         Set<BukkitEnchantment> bukkitEnchants = new HashSet<>();
         Set<GenericEnchantment> otherEnchants = new HashSet<>();
 
-        for (Map.Entry<GenericEnchantment, Integer> kvp : enchantments.entrySet()) {
-            if (kvp.getKey() instanceof BukkitEnchantment) {
+        enchantments.forEach((enchantment, level) -> {
+            if (enchantment instanceof BukkitEnchantment) {
                 if (ConfigUtil.getDebugOrFalse()) {
-                    logger.info("Setting Bukkit enchant for " + item.getType() + ": " + kvp.getKey().getName() + " " + getNumerals(kvp.getValue()));
+                    logger.info("Setting Bukkit enchant for " + item.getType() + ": " + enchantment.getName() + " " + LoreCodec.getNumerals(level));
                 }
-                bukkitEnchants.add((BukkitEnchantment) kvp.getKey());
-                meta.addEnchant((Enchantment) kvp.getKey().getConcrete(), kvp.getValue(), true);
+                bukkitEnchants.add((BukkitEnchantment) enchantment);
+                meta.addEnchant((Enchantment) enchantment.getConcrete(), level, true);
             } else {
                 if (ConfigUtil.getDebugOrFalse()) {
-                    logger.info("Setting AE enchant for " + item.getType() + ": " + kvp.getKey().getName() + " " + getNumerals(kvp.getValue()));
+                    logger.info("Setting AE enchant for " + item.getType() + ": " + enchantment.getName() + " " + LoreCodec.getNumerals(level));
                 }
-                otherEnchants.add(kvp.getKey());
+                otherEnchants.add(enchantment);
                 // Only add AE enchants to lore
-                lore.add((kvp.getKey().isCurse() ? ChatColor.RED : ChatColor.GRAY) + kvp.getKey().getFriendlyName() + " " + getNumerals(kvp.getValue()));
+                lore.add(LoreCodec.renderEnchant(enchantment, level));
             }
-        }
+        });
 
         if (souls > 0) {
-            lore.add(ChatColor.GRAY + "Souls: " + getNumerals(souls));
+            lore.add(LoreCodec.renderSouls(souls));
         }
 
         setShinyMeta(meta, lore, bukkitEnchants, otherEnchants);
@@ -378,16 +403,16 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         Set<BukkitEnchantment> bukkitEnchants = new HashSet<>();
         Set<GenericEnchantment> otherEnchants = new HashSet<>();
 
-        for (Map.Entry<GenericEnchantment, Integer> kvp : enchantments.entrySet()) {
-            if (kvp.getKey() instanceof BukkitEnchantment) {
-                bukkitEnchants.add((BukkitEnchantment) kvp.getKey());
+        enchantments.forEach((enchantment, level) -> {
+            if (enchantment instanceof BukkitEnchantment) {
+                bukkitEnchants.add((BukkitEnchantment) enchantment);
             } else {
-                otherEnchants.add(kvp.getKey());
+                otherEnchants.add(enchantment);
             }
-        }
+        });
 
         if (souls > 0) {
-            lore.add(ChatColor.GRAY + "Souls: " + getNumerals(souls));
+            lore.add(LoreCodec.renderSouls(souls));
         }
 
         setShinyMeta(meta, lore, bukkitEnchants, otherEnchants);
@@ -440,7 +465,7 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
             meta.removeItemFlags(ItemFlag.HIDE_POTION_EFFECTS, ItemFlag.HIDE_ENCHANTS);
         } else {
             if ((!otherEnchants.isEmpty() || souls > 0) && !hasHackyEnchant) {
-                enchantments.put(BukkitEnchantment.fromEnchant(Enchantment.DURABILITY), 0);
+                enchantments.set(BukkitEnchantment.fromEnchant(Enchantment.DURABILITY), 0);
                 meta.addEnchant(Enchantment.DURABILITY, 0, true);
                 hasHackyEnchant = true;
             }
@@ -462,58 +487,44 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         }
 
         meta.setLore(lore);
+        ItemDataHandler dataHandler = getDataHandler();
+        if (dataHandler != null) {
+            dataHandler.setData(meta, !otherEnchants.isEmpty() || souls > 0 ? EnchantDataUtil.encode(enchantments, souls) : null);
+        }
         item.setItemMeta(meta);
+        publishSnapshot();
         //}
     }
 
     private static List<String> stripEnchantsAndSouls(List<String> lore) {
-        List<String> retVal = new ArrayList<>();
-
+        List<String> retVal = new ArrayList<>(lore.size());
         for (String line : lore) {
-            String newLine = ChatColor.stripColor(line).trim();
-            String[] split = newLine.split("\\s+");
-            if (split.length <= 1) {
+            if (!LoreCodec.isEnchantOrSoulsLine(line)) {
                 retVal.add(line);
-                continue;
             }
-
-            if (split[0].equals("Souls:")) {
-                continue;
-            }
-
-            String[] enchantName = Arrays.copyOf(split, split.length - 1, String[].class);
-            Optional<AdvancedEnchantment> enchant = AdvancedEnchantment.getByName(String.join(" ", enchantName));
-            if (enchant.isPresent()) {
-                continue;
-            }
-
-            retVal.add(line);
         }
-
         return retVal;
     }
 
     private static List<String> stripSouls(List<String> lore) {
-        List<String> retVal = new ArrayList<>();
-
+        List<String> retVal = new ArrayList<>(lore.size());
         for (String line : lore) {
-            String newLine = ChatColor.stripColor(line).trim();
-            String[] split = newLine.split("\\s+");
-            if (split.length <= 1) {
+            if (!LoreCodec.isSoulsLine(line)) {
                 retVal.add(line);
-                continue;
-            }
-
-            if (split[0].equals("Souls:")) {
-                continue;
             }
-
-            retVal.add(line);
         }
-
         return retVal;
     }
 
+    private static ItemDataHandler getDataHandler() {
+        try {
+            return ServiceLocator.get(ItemDataHandler.class);
+        } catch (InstantiationException | IllegalAccessException | ServiceNotFoundException ex) {
+            logger.error(ex.getMessage(), ex);
+            return null;
+        }
+    }
+
     private static ItemMeta getMeta(ItemStack item) {
         ItemMeta meta = item.getItemMeta();
         if (meta == null) {
@@ -523,68 +534,5 @@ public class BukkitEnchantableItem extends GenericEnchantableItem {
         return meta;
     }
 
-    private static String getNumerals(int level) {
-        if (level <= 0) {
-            return "O";
-        }
-
-        StringBuilder retVal = new StringBuilder();
-
-        while (level >= 1000) {
-            retVal.append('M');
-            level -= 1000;
-        }
-        while (level >= 900) {
-            retVal.append("CM");
-            level -= 900;
-        }
-        while (level >= 500) {
-            retVal.append('D');
-            level -= 500;
-        }
-        while (level >= 400) {
-            retVal.append("CD");
-            level -= 400;
-        }
-        while (level >= 100) {
-            retVal.append('C');
-            level -= 100;
-        }
-        while (level >= 90) {
-            retVal.append("XC");
-            level -= 90;
-        }
-        while (level >= 50) {
-            retVal.append('L');
-            level -= 50;
-        }
-        while (level >= 40) {
-            retVal.append("XL");
-            level -= 40;
-        }
-        while (level >= 10) {
-            retVal.append('X');
-            level -= 10;
-        }
-        while (level >= 9) {
-            retVal.append("IX");
-            level -= 9;
-        }
-        while (level >= 5) {
-            retVal.append('V');
-            level -= 5;
-        }
-        while (level >= 4) {
-            retVal.append("IV");
-            level -= 4;
-        }
-        while (level >= 1) {
-            retVal.append('I');
-            level -= 1;
-        }
-
-        return retVal.toString();
-    }
-
-    public int hashCode() { return Objects.hash(getItemData(item)); }
+    public int hashCode() { return getFingerprint(item).hashCode(); }
 }
@@ -3,6 +3,8 @@ package me.egg82.ae.commands.internal;
 import co.aikar.commands.CommandIssuer;
 import co.aikar.taskchain.TaskChain;
 import me.egg82.ae.enums.Message;
+import me.egg82.ae.services.FurnaceRecipeIndex;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.utils.ConfigurationFileUtil;
 import org.bukkit.plugin.Plugin;
 
@@ -22,6 +24,8 @@ public class ReloadCommand implements Runnable {
 
         chain
                 .async(() -> ConfigurationFileUtil.reloadConfig(plugin))
+                .sync(PermissionCache::invalidateAll)
+                .sync(FurnaceRecipeIndex::invalidate)
                 .sync(() -> issuer.sendInfo(Message.RELOAD__END))
                 .execute();
     }
@@ -4,12 +4,15 @@ import co.aikar.commands.CommandIssuer;
 import java.util.Optional;
 import me.egg82.ae.api.*;
 import me.egg82.ae.enums.Message;
+import me.egg82.ae.services.EnchantPresence;
+import me.egg82.ae.services.LoadoutCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.EnchantmentUtil;
 import ninja.egg82.service.ServiceLocator;
 import ninja.egg82.service.ServiceNotFoundException;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,15 +58,24 @@ public class RemoveCommand implements Runnable {
 
         if (enchantableMainHand.isPresent()) {
             enchantableMainHand.get().removeEnchantment(en.get());
+            invalidateLoadout();
             issuer.sendInfo(Message.REMOVE__SUCCESS_MAIN_HAND, "{name}", en.get().getFriendlyName());
         } else if (enchantableOffHand.isPresent()) {
             enchantableOffHand.get().removeEnchantment(en.get());
+            invalidateLoadout();
             issuer.sendInfo(Message.REMOVE__SUCCESS_OFF_HAND, "{name}", en.get().getFriendlyName());
         } else {
             issuer.sendError(Message.ERROR__NO_ITEM);
         }
     }
 
+    private void invalidateLoadout() {
+        LoadoutCache.invalidate(((LivingEntity) issuer.getIssuer()).getUniqueId());
+        if (issuer.getIssuer() instanceof Player) {
+            EnchantPresence.update((Player) issuer.getIssuer());
+        }
+    }
+
     private Optional<GenericEnchantment> getEnchantment(String enchantment) {
         for (AdvancedEnchantment e : AdvancedEnchantment.values()) {
             if (e != null && e.getName().equalsIgnoreCase(enchantment)) {
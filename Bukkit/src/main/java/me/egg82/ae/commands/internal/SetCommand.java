@@ -4,12 +4,15 @@ import co.aikar.commands.CommandIssuer;
 import java.util.Optional;
 import me.egg82.ae.api.*;
 import me.egg82.ae.enums.Message;
+import me.egg82.ae.services.EnchantPresence;
+import me.egg82.ae.services.LoadoutCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.EnchantmentUtil;
 import ninja.egg82.service.ServiceLocator;
 import ninja.egg82.service.ServiceNotFoundException;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +79,7 @@ public class SetCommand implements Runnable {
             }
 
             enchantableMainHand.get().setEnchantmentLevel(en.get(), l);
+            invalidateLoadout();
             issuer.sendInfo(Message.SET__SUCCESS_MAIN_HAND, "{name}", en.get().getFriendlyName(), "{level}", String.valueOf(l));
         } else if (enchantableOffHand.isPresent()) {
             if (!f && !en.get().canEnchant(enchantableOffHand.get())) {
@@ -84,12 +88,20 @@ public class SetCommand implements Runnable {
             }
 
             enchantableOffHand.get().setEnchantmentLevel(en.get(), l);
+            invalidateLoadout();
             issuer.sendInfo(Message.SET__SUCCESS_OFF_HAND, "{name}", en.get().getFriendlyName(), "{level}", String.valueOf(l));
         } else {
             issuer.sendError(Message.ERROR__NO_ITEM);
         }
     }
 
+    private void invalidateLoadout() {
+        LoadoutCache.invalidate(((LivingEntity) issuer.getIssuer()).getUniqueId());
+        if (issuer.getIssuer() instanceof Player) {
+            EnchantPresence.update((Player) issuer.getIssuer());
+        }
+    }
+
     private Optional<GenericEnchantment> getEnchantment(String enchantment) {
         for (AdvancedEnchantment e : AdvancedEnchantment.values()) {
             if (e != null && e.getName().equalsIgnoreCase(enchantment)) {
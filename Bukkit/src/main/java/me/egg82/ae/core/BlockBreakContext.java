@@ -0,0 +1,100 @@
+package me.egg82.ae.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.services.entity.EntityItemHandler;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.inventory.ItemStack;
+
+public class BlockBreakContext {
+    private final BlockBreakEvent event;
+    private final EntityItemHandler entityItemHandler;
+
+    private boolean resolved = false;
+    private ItemStack item = null;
+    private BukkitEnchantableItem enchantableItem = null;
+
+    private int durability = 0;
+    private final List<Runnable> deferred = new ArrayList<>();
+    private boolean cancelledByStages = false;
+
+    public BlockBreakContext(BlockBreakEvent event, EntityItemHandler entityItemHandler) {
+        if (event == null) {
+            throw new IllegalArgumentException("event cannot be null.");
+        }
+        if (entityItemHandler == null) {
+            throw new IllegalArgumentException("entityItemHandler cannot be null.");
+        }
+
+        this.event = event;
+        this.entityItemHandler = entityItemHandler;
+    }
+
+    public BlockBreakEvent getEvent() { return event; }
+
+    public Player getPlayer() { return event.getPlayer(); }
+
+    public EntityItemHandler getEntityItemHandler() { return entityItemHandler; }
+
+    /**
+     * Returns the tool in the player's main hand, or null if the hand is empty.
+     */
+    public ItemStack getItem() {
+        resolve();
+        return item;
+    }
+
+    public BukkitEnchantableItem getEnchantableItem() {
+        resolve();
+        return enchantableItem;
+    }
+
+    /**
+     * Returns the level of the enchant on the tool, or -1 if it isn't there.
+     */
+    public int getLevel(GenericEnchantment enchantment) {
+        resolve();
+        return enchantableItem != null ? enchantableItem.getEnchantmentLevel(enchantment) : -1;
+    }
+
+    /**
+     * Adds to the durability the tool loses for this break. Applied once, after every stage has run.
+     */
+    public void addDurability(int durability) { this.durability += durability; }
+
+    public int getDurability() { return durability; }
+
+    /**
+     * Queues work to run once the break is final, after every other plugin has seen it.
+     * Dropped if another plugin cancels the break.
+     */
+    public void defer(Runnable runnable) {
+        if (runnable == null) {
+            throw new IllegalArgumentException("runnable cannot be null.");
+        }
+        deferred.add(runnable);
+    }
+
+    public List<Runnable> getDeferred() { return deferred; }
+
+    public boolean isCancelledByStages() { return cancelledByStages; }
+
+    public void setCancelledByStages(boolean cancelledByStages) { this.cancelledByStages = cancelledByStages; }
+
+    private void resolve() {
+        if (resolved) {
+            return;
+        }
+        resolved = true;
+
+        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(event.getPlayer());
+        if (mainHand.isPresent()) {
+            item = mainHand.get();
+            enchantableItem = BukkitEnchantableItem.fromItemStack(item);
+        }
+    }
+}
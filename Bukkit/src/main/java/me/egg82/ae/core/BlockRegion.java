@@ -0,0 +1,137 @@
+package me.egg82.ae.core;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * A read-only view of the block types and data in a box. Reads outside the box return air.
+ *
+ * A captured region snapshots each chunk the box touches, so it can be read off the main thread.
+ * Snapshotting copies whole chunks, so it's only worth it for work that actually runs async.
+ * A viewed region reads the world as it goes instead, and must stay on the main thread, as must a
+ * captured one on servers without typed snapshots (before 1.13). {@link #isThreadSafe()} tells them apart.
+ */
+public class BlockRegion {
+    private static final boolean hasSnapshotTypes;
+    static {
+        boolean found;
+        try {
+            ChunkSnapshot.class.getMethod("getBlockType", int.class, int.class, int.class);
+            found = true;
+        } catch (NoSuchMethodException | SecurityException ignored) {
+            found = false;
+        }
+        hasSnapshotTypes = found;
+    }
+
+    private final World world;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    private final ChunkSnapshot[] snapshots;
+
+    private BlockRegion(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, boolean snapshot) {
+        this.world = world;
+        this.minX = minX;
+        this.minY = Math.max(0, minY);
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = Math.min(world.getMaxHeight() - 1, maxY);
+        this.maxZ = maxZ;
+
+        minChunkX = minX >> 4;
+        minChunkZ = minZ >> 4;
+        chunksX = (maxX >> 4) - minChunkX + 1;
+        int chunksZ = (maxZ >> 4) - minChunkZ + 1;
+
+        if (!snapshot || !hasSnapshotTypes) {
+            snapshots = null;
+            return;
+        }
+
+        snapshots = new ChunkSnapshot[chunksX * chunksZ];
+        for (int x = 0; x < chunksX; x++) {
+            for (int z = 0; z < chunksZ; z++) {
+                // No heightmap, biomes or temperatures, they're never read
+                snapshots[z * chunksX + x] = world.getChunkAt(minChunkX + x, minChunkZ + z).getChunkSnapshot(false, false, false);
+            }
+        }
+    }
+
+    /**
+     * Captures the box between the two corners, inclusive. Main thread only.
+     */
+    public static BlockRegion capture(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) { return create(world, minX, minY, minZ, maxX, maxY, maxZ, true); }
+
+    /**
+     * Captures the box around the center, reaching out by each radius.
+     */
+    public static BlockRegion captureAround(World world, int centerX, int centerY, int centerZ, int xRadius, int yRadius, int zRadius) {
+        return capture(world, centerX - xRadius, centerY - yRadius, centerZ - zRadius, centerX + xRadius, centerY + yRadius, centerZ + zRadius);
+    }
+
+    /**
+     * Views the box between the two corners, inclusive, without snapshotting it. Main thread only.
+     */
+    public static BlockRegion view(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) { return create(world, minX, minY, minZ, maxX, maxY, maxZ, false); }
+
+    /**
+     * Views the box around the center, reaching out by each radius.
+     */
+    public static BlockRegion viewAround(World world, int centerX, int centerY, int centerZ, int xRadius, int yRadius, int zRadius) {
+        return view(world, centerX - xRadius, centerY - yRadius, centerZ - zRadius, centerX + xRadius, centerY + yRadius, centerZ + zRadius);
+    }
+
+    private static BlockRegion create(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, boolean snapshot) {
+        if (world == null) {
+            throw new IllegalArgumentException("world cannot be null.");
+        }
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            throw new IllegalArgumentException("min cannot be greater than max.");
+        }
+
+        return new BlockRegion(world, minX, minY, minZ, maxX, maxY, maxZ, snapshot);
+    }
+
+    public World getWorld() { return world; }
+
+    public boolean isThreadSafe() { return snapshots != null; }
+
+    public boolean contains(int x, int y, int z) { return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ; }
+
+    public Material getType(int x, int y, int z) {
+        if (!contains(x, y, z)) {
+            return Material.AIR;
+        }
+        if (snapshots == null) {
+            return world.getBlockAt(x, y, z).getType();
+        }
+
+        ChunkSnapshot snapshot = getSnapshot(x, z);
+        if (snapshot.isSectionEmpty(y >> 4)) {
+            return Material.AIR;
+        }
+        return snapshot.getBlockType(x & 15, y, z & 15);
+    }
+
+    public byte getData(int x, int y, int z) {
+        if (!contains(x, y, z)) {
+            return 0;
+        }
+        if (snapshots == null) {
+            return world.getBlockAt(x, y, z).getData();
+        }
+
+        return (byte) getSnapshot(x, z).getData(x & 15, y, z & 15);
+    }
+
+    private ChunkSnapshot getSnapshot(int x, int z) { return snapshots[((z >> 4) - minChunkZ) * chunksX + ((x >> 4) - minChunkX)]; }
+}
@@ -0,0 +1,50 @@
+package me.egg82.ae.core;
+
+import me.egg82.ae.services.LoadoutCache;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+public class CombatContext {
+    private final EntityDamageByEntityEvent event;
+    private final LivingEntity attacker;
+    private final LivingEntity victim;
+
+    private LoadoutSnapshot attackerLoadout = null;
+    private LoadoutSnapshot victimLoadout = null;
+
+    public CombatContext(EntityDamageByEntityEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("event cannot be null.");
+        }
+
+        this.event = event;
+        this.attacker = event.getDamager() instanceof LivingEntity ? (LivingEntity) event.getDamager() : null;
+        this.victim = event.getEntity() instanceof LivingEntity ? (LivingEntity) event.getEntity() : null;
+    }
+
+    public EntityDamageByEntityEvent getEvent() { return event; }
+
+    /**
+     * Returns the damager, or null if the damager is not a living entity (projectiles, TNT, etc).
+     */
+    public LivingEntity getAttacker() { return attacker; }
+
+    /**
+     * Returns the damaged entity, or null if it is not a living entity.
+     */
+    public LivingEntity getVictim() { return victim; }
+
+    public LoadoutSnapshot getAttackerLoadout() {
+        if (attackerLoadout == null) {
+            attackerLoadout = attacker != null ? LoadoutCache.get(attacker) : LoadoutSnapshot.EMPTY;
+        }
+        return attackerLoadout;
+    }
+
+    public LoadoutSnapshot getVictimLoadout() {
+        if (victimLoadout == null) {
+            victimLoadout = victim != null ? LoadoutCache.get(victim) : LoadoutSnapshot.EMPTY;
+        }
+        return victimLoadout;
+    }
+}
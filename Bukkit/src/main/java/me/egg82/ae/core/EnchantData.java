@@ -0,0 +1,29 @@
+package me.egg82.ae.core;
+
+import java.util.Map;
+import java.util.Objects;
+import me.egg82.ae.api.GenericEnchantment;
+
+public class EnchantData {
+    private final Map<GenericEnchantment, Integer> enchantments;
+    private final int souls;
+
+    public EnchantData(Map<GenericEnchantment, Integer> enchantments, int souls) {
+        this.enchantments = enchantments;
+        this.souls = souls;
+    }
+
+    public Map<GenericEnchantment, Integer> getEnchantments() { return enchantments; }
+
+    public int getSouls() { return souls; }
+
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EnchantData that = (EnchantData) o;
+        return souls == that.souls &&
+                enchantments.equals(that.enchantments);
+    }
+
+    public int hashCode() { return Objects.hash(enchantments, souls); }
+}
@@ -0,0 +1,53 @@
+package me.egg82.ae.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of permission decisions for one player, indexed by node id.
+ *
+ * A node is either unknown (not checked yet) or known, in which case the mask also holds
+ * whether it was granted. Adding a decision returns a new mask.
+ */
+public class EnchantPermissionMask {
+    public static final EnchantPermissionMask EMPTY = new EnchantPermissionMask(new long[0], new long[0]);
+
+    private final long[] known;
+    private final long[] granted;
+
+    private EnchantPermissionMask(long[] known, long[] granted) {
+        this.known = known;
+        this.granted = granted;
+    }
+
+    public boolean isKnown(int node) {
+        int word = node >>> 6;
+        return word < known.length && (known[word] & (1L << node)) != 0L;
+    }
+
+    /**
+     * Returns whether the node was granted. Only meaningful if the node is known.
+     */
+    public boolean isGranted(int node) {
+        int word = node >>> 6;
+        return word < granted.length && (granted[word] & (1L << node)) != 0L;
+    }
+
+    public EnchantPermissionMask with(int node, boolean value) {
+        if (node < 0) {
+            throw new IllegalArgumentException("node cannot be negative.");
+        }
+
+        int length = Math.max(known.length, (node >>> 6) + 1);
+        long[] newKnown = Arrays.copyOf(known, length);
+        long[] newGranted = Arrays.copyOf(granted, length);
+
+        newKnown[node >>> 6] |= 1L << node;
+        if (value) {
+            newGranted[node >>> 6] |= 1L << node;
+        } else {
+            newGranted[node >>> 6] &= ~(1L << node);
+        }
+
+        return new EnchantPermissionMask(newKnown, newGranted);
+    }
+}
@@ -0,0 +1,97 @@
+package me.egg82.ae.core;
+
+/**
+ * 128-bit fingerprint of the parts of an item that decide its enchants.
+ *
+ * Used as a cache key in place of the item data itself, so the cache
+ * neither hashes nor retains lore lists.
+ */
+public final class ItemFingerprint {
+    private final long high;
+    private final long low;
+
+    private ItemFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static ItemFingerprint.Builder builder() { return new ItemFingerprint.Builder(); }
+
+    /**
+     * Mixes a single value, for combining unordered elements before adding them.
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemFingerprint)) return false;
+        ItemFingerprint that = (ItemFingerprint) o;
+        return high == that.high && low == that.low;
+    }
+
+    public int hashCode() { return (int) (low ^ (low >>> 32)); }
+
+    public static class Builder {
+        private long high = 0x9E3779B97F4A7C15L;
+        private long low = 0xC2B2AE3D27D4EB4FL;
+        private long length = 0L;
+
+        private Builder() {}
+
+        public ItemFingerprint.Builder add(long value) {
+            high = Long.rotateLeft(high ^ mix(value), 27) * 0x87C37B91114253D5L + 0x52DCE729L;
+            low = Long.rotateLeft(low ^ mix(value + 0x9E3779B97F4A7C15L), 31) * 0x4CF5AD432745937FL + 0x38495AB5L;
+            length++;
+            return this;
+        }
+
+        public ItemFingerprint.Builder add(byte[] value) {
+            if (value == null) {
+                return add(-1L);
+            }
+
+            add(value.length);
+            long chunk = 0L;
+            for (int i = 0; i < value.length; i++) {
+                chunk = (chunk << 8) | (value[i] & 0xFFL);
+                if ((i & 7) == 7) {
+                    add(chunk);
+                    chunk = 0L;
+                }
+            }
+            if ((value.length & 7) != 0) {
+                add(chunk);
+            }
+            return this;
+        }
+
+        public ItemFingerprint.Builder add(String value) {
+            if (value == null) {
+                return add(-1L);
+            }
+
+            add(value.length());
+            long chunk = 0L;
+            for (int i = 0; i < value.length(); i++) {
+                chunk = (chunk << 16) | value.charAt(i);
+                if ((i & 3) == 3) {
+                    add(chunk);
+                    chunk = 0L;
+                }
+            }
+            if ((value.length() & 3) != 0) {
+                add(chunk);
+            }
+            return this;
+        }
+
+        public ItemFingerprint build() { return new ItemFingerprint(mix(high ^ length), mix(low ^ high ^ length)); }
+    }
+}
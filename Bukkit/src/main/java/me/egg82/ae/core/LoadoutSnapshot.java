@@ -0,0 +1,109 @@
+package me.egg82.ae.core;
+
+import java.util.Arrays;
+import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.api.GenericEnchantment;
+
+public class LoadoutSnapshot {
+    public static final int HELMET = 0;
+    public static final int CHESTPLATE = 1;
+    public static final int LEGGINGS = 2;
+    public static final int BOOTS = 3;
+    public static final int MAIN_HAND = 4;
+    public static final int OFF_HAND = 5;
+
+    public static final int SLOTS = 6;
+
+    public static final LoadoutSnapshot EMPTY = new LoadoutSnapshot(new GenericEnchantableItem[SLOTS]);
+
+    private final int[] levels; // enchant id * SLOTS + slot, -1 if not present
+    private final long[] present; // enchant ids present in any slot
+
+    public LoadoutSnapshot(GenericEnchantableItem[] items) {
+        if (items == null) {
+            throw new IllegalArgumentException("items cannot be null.");
+        }
+        if (items.length != SLOTS) {
+            throw new IllegalArgumentException("items must contain exactly " + SLOTS + " slots.");
+        }
+
+        int count = GenericEnchantment.getRegisteredCount();
+        levels = new int[count * SLOTS];
+        Arrays.fill(levels, -1);
+        present = new long[(count + 63) >>> 6];
+
+        for (int i = 0; i < SLOTS; i++) {
+            if (items[i] == null) {
+                continue;
+            }
+
+            int slot = i;
+            items[i].forEachEnchantment((enchantment, level) -> {
+                int index = enchantment.getId() * SLOTS + slot;
+                if (index < levels.length) {
+                    levels[index] = level;
+                    present[enchantment.getId() >>> 6] |= 1L << enchantment.getId();
+                }
+            });
+        }
+    }
+
+    public int getLevel(GenericEnchantment enchantment) { return getMaxLevel(enchantment, HELMET, SLOTS); }
+
+    public int getArmorLevel(GenericEnchantment enchantment) { return getMaxLevel(enchantment, HELMET, MAIN_HAND); }
+
+    public int getLevel(GenericEnchantment enchantment, int slot) {
+        if (slot < 0 || slot >= SLOTS) {
+            throw new IllegalArgumentException("slot is out of range.");
+        }
+        return getMaxLevel(enchantment, slot, slot + 1);
+    }
+
+    public boolean hasEnchantment(GenericEnchantment enchantment) { return getLevel(enchantment) >= 0; }
+
+    public boolean hasArmorEnchantment(GenericEnchantment enchantment) { return getArmorLevel(enchantment) >= 0; }
+
+    public boolean hasEnchantment(GenericEnchantment enchantment, int slot) { return getLevel(enchantment, slot) >= 0; }
+
+    /**
+     * Returns the next enchantment id at or after {@code fromId} that is present in any slot, or -1 if there is none.
+     */
+    public int nextEnchantmentId(int fromId) {
+        if (fromId < 0) {
+            fromId = 0;
+        }
+
+        int word = fromId >>> 6;
+        if (word >= present.length) {
+            return -1;
+        }
+
+        long bits = present[word] & (-1L << fromId);
+        while (true) {
+            if (bits != 0L) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word >= present.length) {
+                return -1;
+            }
+            bits = present[word];
+        }
+    }
+
+    private int getMaxLevel(GenericEnchantment enchantment, int fromSlot, int toSlot) {
+        if (enchantment == null) {
+            return -1;
+        }
+
+        int base = enchantment.getId() * SLOTS;
+        if (base >= levels.length) {
+            return -1;
+        }
+
+        int max = -1;
+        for (int i = fromSlot; i < toSlot; i++) {
+            max = Math.max(max, levels[base + i]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,143 @@
+package me.egg82.ae.core;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressed set of primitive longs, so lookups don't box or allocate.
+ */
+public class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int mask;
+    private int size = 0;
+    private boolean hasEmptyKey = false;
+
+    public LongHashSet() { this(16); }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = true;
+            size++;
+            return true;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            return false;
+        }
+
+        keys[index] = key;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return hasEmptyKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = false;
+            size--;
+            return true;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] != key) {
+            return false;
+        }
+
+        // Shift later keys in the probe run back so lookups don't stop early at the gap
+        int gap = index;
+        int i = (index + 1) & mask;
+        while (keys[i] != EMPTY) {
+            int home = mix(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the keys in no particular order.
+     */
+    public long[] toArray() {
+        long[] retVal = new long[size];
+        int i = 0;
+        if (hasEmptyKey) {
+            retVal[i++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                retVal[i++] = key;
+            }
+        }
+        return retVal;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, EMPTY);
+        hasEmptyKey = false;
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                keys[indexOf(key)] = key;
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
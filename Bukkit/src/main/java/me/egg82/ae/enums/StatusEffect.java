@@ -0,0 +1,10 @@
+package me.egg82.ae.enums;
+
+public enum StatusEffect {
+    BLEEDING,
+    ENSNARING,
+    FREEZING,
+    MARKING,
+    RAMPAGE,
+    STICKINESS;
+}
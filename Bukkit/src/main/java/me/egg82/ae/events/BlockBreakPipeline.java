@@ -0,0 +1,213 @@
+package me.egg82.ae.events;
+
+import java.util.*;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.entity.EntityItemHandler;
+import me.egg82.ae.utils.ItemDurabilityUtil;
+import me.egg82.ae.utils.PermissionUtil;
+import ninja.egg82.events.BukkitEventFilters;
+import ninja.egg82.events.BukkitEvents;
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Single entry point for {@link BlockBreakEvent}.
+ *
+ * The player's tool is resolved once per break, then the stages run in a fixed order:
+ * area expansion, drop removal and transforms, and exp changes. Handlers add the durability their
+ * work costs to the context and defer anything that touches other blocks. Both are settled at
+ * MONITOR, once the break is final: if another plugin cancelled it after the stages ran, the
+ * deferred work is dropped and no durability is taken. A stage that cancels the break itself
+ * ends the stages, but not the settlement.
+ */
+public class BlockBreakPipeline extends EventHolder {
+    private final Plugin plugin;
+
+    private final Map<EventPriority, List<Registration>> registrations = new EnumMap<>(EventPriority.class);
+    // Keyed by identity, since breaks made by deferred work can fire while another break settles
+    private final Map<BlockBreakEvent, BlockBreakContext> contexts = new IdentityHashMap<>();
+
+    public BlockBreakPipeline(Plugin plugin) {
+        this.plugin = plugin;
+
+        events.add(
+                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.MONITOR)
+                        .handler(this::settle)
+        );
+    }
+
+    /**
+     * Registers a handler that runs on every break, regardless of the tool. The handler is given a level of -1.
+     */
+    public void register(Stage stage, Handler handler) { register(stage, null, null, handler); }
+
+    /**
+     * Registers a handler that runs only when the enchant is on the player's tool and the player has the permission.
+     */
+    public void register(Stage stage, GenericEnchantment enchant, String permission, Handler handler) {
+        if (stage == null) {
+            throw new IllegalArgumentException("stage cannot be null.");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("handler cannot be null.");
+        }
+
+        List<Registration> list = registrations.get(stage.getPriority());
+        if (list == null) {
+            list = new ArrayList<>();
+            registrations.put(stage.getPriority(), list);
+            List<Registration> finalList = list;
+            events.add(
+                    BukkitEvents.subscribe(plugin, BlockBreakEvent.class, stage.getPriority())
+                            .filter(BukkitEventFilters.ignoreCancelled())
+                            .handler(e -> dispatch(e, finalList))
+            );
+        }
+
+        // Keep the list sorted by stage, stable for registration order within a stage
+        int index = list.size();
+        while (index > 0 && list.get(index - 1).stage.ordinal() > stage.ordinal()) {
+            index--;
+        }
+        list.add(index, new Registration(stage, enchant, permission == null ? -1 : PermissionCache.getNodeId(permission), handler));
+    }
+
+    private void dispatch(BlockBreakEvent event, List<Registration> list) {
+        EntityItemHandler entityItemHandler = getItemHandler();
+        if (entityItemHandler == null) {
+            return;
+        }
+
+        BlockBreakContext context = contexts.get(event);
+        if (context == null) {
+            context = new BlockBreakContext(event, entityItemHandler);
+            contexts.put(event, context);
+        }
+
+        for (Registration registration : list) {
+            if (event.isCancelled()) {
+                break;
+            }
+
+            if (registration.enchant == null) {
+                handle(registration, context, -1);
+                continue;
+            }
+
+            int level = context.getLevel(registration.enchant);
+            if (level < 0) {
+                continue;
+            }
+
+            if (registration.permission >= 0 && !PermissionUtil.canUseEnchant(event.getPlayer(), registration.permission)) {
+                continue;
+            }
+
+            handle(registration, context, level);
+        }
+
+        // Only runs on breaks that weren't cancelled, so a cancel seen here came from a stage
+        context.setCancelledByStages(event.isCancelled());
+    }
+
+    private void settle(BlockBreakEvent event) {
+        BlockBreakContext context = contexts.remove(event);
+        if (context == null) {
+            return;
+        }
+
+        if (event.isCancelled() && !context.isCancelledByStages()) {
+            return;
+        }
+
+        for (Runnable runnable : context.getDeferred()) {
+            try {
+                runnable.run();
+            } catch (RuntimeException ex) {
+                logger.error(ex.getMessage(), ex);
+            }
+        }
+
+        removeDurability(context);
+    }
+
+    private void handle(Registration registration, BlockBreakContext context, int level) {
+        try {
+            registration.handler.handle(context, level);
+        } catch (RuntimeException ex) {
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
+    private void removeDurability(BlockBreakContext context) {
+        Player player = context.getPlayer();
+        if (context.getDurability() <= 0 || player.getGameMode() == GameMode.CREATIVE || context.getEnchantableItem() == null) {
+            return;
+        }
+
+        if (!ItemDurabilityUtil.removeDurability(player, context.getEnchantableItem(), context.getDurability(), player.getLocation())) {
+            context.getEntityItemHandler().setItemInMainHand(player, null);
+        }
+    }
+
+    /**
+     * Every stage but CANCEL runs at HIGH, in declaration order. Before the pipeline, each enchant
+     * picked its own priority: Stillness, Misfortune and Proficiency ran at LOW, Smelting at NORMAL,
+     * and Artisan and Explosive at MONITOR. Other plugins listening between LOW and HIGH now see the
+     * break before its drops and exp are changed, where they used to see it after.
+     */
+    public enum Stage {
+        /**
+         * Cancels the break before other plugins see it.
+         */
+        CANCEL(EventPriority.LOW),
+        /**
+         * Picks extra blocks around the original to break. Runs before the original block's drops are
+         * changed, so area breaks and drop transforms stack. The breaks themselves must be deferred
+         * through the context, so they are only queued if no plugin cancels the break at HIGHEST.
+         */
+        AREA(EventPriority.HIGH),
+        /**
+         * Removes the original block without drops, cancelling the break.
+         */
+        DROP_REMOVAL(EventPriority.HIGH),
+        /**
+         * Replaces the original block's drops. Cancels the break if the drops were replaced.
+         */
+        DROP_TRANSFORM(EventPriority.HIGH),
+        /**
+         * Changes the exp dropped by the original block.
+         */
+        EXPERIENCE(EventPriority.HIGH);
+
+        private final EventPriority priority;
+        Stage(EventPriority priority) {
+            this.priority = priority;
+        }
+
+        public EventPriority getPriority() { return priority; }
+    }
+
+    public interface Handler {
+        void handle(BlockBreakContext context, int level);
+    }
+
+    private static class Registration {
+        private final Stage stage;
+        private final GenericEnchantment enchant;
+        private final int permission;
+        private final Handler handler;
+
+        private Registration(Stage stage, GenericEnchantment enchant, int permission, Handler handler) {
+            this.stage = stage;
+            this.enchant = enchant;
+            this.permission = permission;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package me.egg82.ae.events;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.utils.PermissionUtil;
+import ninja.egg82.events.BukkitEventFilters;
+import ninja.egg82.events.BukkitEvents;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Single entry point for {@link EntityDamageByEntityEvent}.
+ *
+ * Enchant holders register their handlers here instead of subscribing to the event
+ * themselves. There is one listener per priority, the attacker's and victim's loadouts
+ * are resolved at most once per hit, and handlers only run when their enchant is present.
+ * Handlers run by stage, then in the order they were registered.
+ */
+public class CombatPipeline extends EventHolder {
+    private final Plugin plugin;
+
+    private final Map<EventPriority, List<Registration>> registrations = new EnumMap<>(EventPriority.class);
+
+    public CombatPipeline(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Registers a handler that runs on every hit. Used for state that isn't tied to the
+     * participants' equipment, such as marked or frozen entities. The handler is given a level of -1.
+     */
+    public void register(Stage stage, Handler handler) { register(stage, null, null, (String[]) null, handler); }
+
+    public void register(Stage stage, GenericEnchantment enchant, Source source, String permission, Handler handler) { register(stage, enchant, source, permission == null ? null : new String[] { permission }, handler); }
+
+    /**
+     * Registers a handler that runs only when the enchant is present on the given source,
+     * and the source entity has every one of the permissions.
+     */
+    public void register(Stage stage, GenericEnchantment enchant, Source source, String[] permissions, Handler handler) {
+        if (stage == null) {
+            throw new IllegalArgumentException("stage cannot be null.");
+        }
+        if (enchant != null && source == null) {
+            throw new IllegalArgumentException("source cannot be null.");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("handler cannot be null.");
+        }
+
+        List<Registration> list = registrations.get(stage.getPriority());
+        if (list == null) {
+            list = new ArrayList<>();
+            registrations.put(stage.getPriority(), list);
+            List<Registration> finalList = list;
+            events.add(
+                    BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, stage.getPriority())
+                            .filter(BukkitEventFilters.ignoreCancelled())
+                            .handler(e -> dispatch(e, finalList))
+            );
+        }
+
+        // Keep the list sorted by stage, stable for registration order within a stage
+        int index = list.size();
+        while (index > 0 && list.get(index - 1).stage.ordinal() > stage.ordinal()) {
+            index--;
+        }
+        list.add(index, new Registration(stage, enchant, source, getNodeIds(permissions), handler));
+    }
+
+    private void dispatch(EntityDamageByEntityEvent event, List<Registration> list) {
+        CombatContext context = new CombatContext(event);
+
+        for (Registration registration : list) {
+            // Matches the per-listener ignoreCancelled these handlers used to have
+            if (event.isCancelled()) {
+                return;
+            }
+
+            if (registration.enchant == null) {
+                handle(registration, context, -1);
+                continue;
+            }
+
+            LivingEntity entity = registration.source.getEntity(context);
+            if (entity == null) {
+                continue;
+            }
+
+            int level = registration.source.getLevel(context, registration.enchant);
+            if (level < 0) {
+                continue;
+            }
+
+            if (!canUse(entity, registration.permissions)) {
+                continue;
+            }
+
+            handle(registration, context, level);
+        }
+    }
+
+    private void handle(Registration registration, CombatContext context, int level) {
+        // One failing handler shouldn't take the rest of the hit down with it, as it wouldn't have with separate listeners
+        try {
+            registration.handler.handle(context, level);
+        } catch (RuntimeException ex) {
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
+    private int[] getNodeIds(String[] permissions) {
+        if (permissions == null) {
+            return null;
+        }
+
+        int[] retVal = new int[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            retVal[i] = PermissionCache.getNodeId(permissions[i]);
+        }
+        return retVal;
+    }
+
+    private boolean canUse(LivingEntity entity, int[] permissions) {
+        if (permissions == null) {
+            return true;
+        }
+
+        for (int p : permissions) {
+            if (!PermissionUtil.canUseEnchant(entity, p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public enum Stage {
+        /**
+         * Cancels the hit outright. Runs first so nothing else is computed for a cancelled hit.
+         */
+        CANCEL(EventPriority.LOW),
+        /**
+         * Changes the damage dealt.
+         */
+        DAMAGE(EventPriority.LOW),
+        /**
+         * Reacts to the final damage of a hit that went through.
+         */
+        EFFECT(EventPriority.MONITOR);
+
+        private final EventPriority priority;
+        Stage(EventPriority priority) {
+            this.priority = priority;
+        }
+
+        public EventPriority getPriority() { return priority; }
+    }
+
+    public enum Source {
+        /**
+         * The damager's main hand.
+         */
+        ATTACKER_MAIN_HAND {
+            LivingEntity getEntity(CombatContext context) { return context.getAttacker(); }
+            int getLevel(CombatContext context, GenericEnchantment enchant) { return context.getAttackerLoadout().getLevel(enchant, LoadoutSnapshot.MAIN_HAND); }
+        },
+        /**
+         * The damaged entity's armor.
+         */
+        VICTIM_ARMOR {
+            LivingEntity getEntity(CombatContext context) { return context.getVictim(); }
+            int getLevel(CombatContext context, GenericEnchantment enchant) { return context.getVictimLoadout().getArmorLevel(enchant); }
+        },
+        /**
+         * Anything the damaged entity has equipped, armor and hands.
+         */
+        VICTIM_EQUIPMENT {
+            LivingEntity getEntity(CombatContext context) { return context.getVictim(); }
+            int getLevel(CombatContext context, GenericEnchantment enchant) { return context.getVictimLoadout().getLevel(enchant); }
+        };
+
+        abstract LivingEntity getEntity(CombatContext context);
+
+        abstract int getLevel(CombatContext context, GenericEnchantment enchant);
+    }
+
+    public interface Handler {
+        void handle(CombatContext context, int level);
+    }
+
+    private static class Registration {
+        private final Stage stage;
+        private final GenericEnchantment enchant;
+        private final Source source;
+        private final int[] permissions;
+        private final Handler handler;
+
+        private Registration(Stage stage, GenericEnchantment enchant, Source source, int[] permissions, Handler handler) {
+            this.stage = stage;
+            this.enchant = enchant;
+            this.source = source;
+            this.permissions = permissions;
+            this.handler = handler;
+        }
+    }
+}
@@ -3,18 +3,24 @@ package me.egg82.ae.events;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import me.egg82.ae.APIException;
+import java.util.function.Supplier;
 import me.egg82.ae.EnchantAPI;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.services.EnchantPresence;
+import me.egg82.ae.services.LoadoutCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
+import me.egg82.ae.utils.ItemDurabilityUtil;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEventSubscriber;
 import ninja.egg82.service.ServiceLocator;
 import ninja.egg82.service.ServiceNotFoundException;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,15 +28,37 @@ public abstract class EventHolder {
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     protected final List<BukkitEventSubscriber<?>> events = new ArrayList<>();
+    private final List<PresenceSubscription> presenceEvents = new ArrayList<>();
 
     protected final EnchantAPI api = EnchantAPI.getInstance();
 
-    public final int numEvents() { return events.size(); }
+    public final int numEvents() { return events.size() + presenceEvents.size(); }
 
     public final void cancel() {
         for (BukkitEventSubscriber<?> event : events) {
             event.cancel();
         }
+        for (PresenceSubscription event : presenceEvents) {
+            EnchantPresence.removeListener(event.getEnchant(), event);
+            event.absent();
+        }
+    }
+
+    /**
+     * Subscribes the listener only while at least one online player has the enchant equipped.
+     * Meant for player-only events that fire constantly, such as movement or chat.
+     */
+    protected void addWhilePresent(GenericEnchantment enchant, Supplier<BukkitEventSubscriber<?>> subscriber) {
+        if (enchant == null) {
+            throw new IllegalArgumentException("enchant cannot be null.");
+        }
+        if (subscriber == null) {
+            throw new IllegalArgumentException("subscriber cannot be null.");
+        }
+
+        PresenceSubscription event = new PresenceSubscription(enchant, subscriber);
+        presenceEvents.add(event);
+        EnchantPresence.addListener(enchant, event);
     }
 
     protected EntityItemHandler getItemHandler() {
@@ -44,54 +72,54 @@ public abstract class EventHolder {
         return retVal;
     }
 
-    protected int getLevelForArmor(LivingEntity entity, GenericEnchantment enchant) { return getLevelForArmor(entity, enchant, null); }
+    /**
+     * Takes durability from the tool in the player's main hand, as long as it's still the same
+     * kind of tool. Used by work that finishes after the event that started it.
+     */
+    protected void removeToolDurability(Player player, Material toolType, int durability) {
+        if (durability <= 0 || !player.isOnline() || player.getGameMode() == GameMode.CREATIVE) {
+            return;
+        }
+
+        EntityItemHandler entityItemHandler = getItemHandler();
+        if (entityItemHandler == null) {
+            return;
+        }
 
-    protected int getLevelForArmor(LivingEntity entity, GenericEnchantment enchant, String[] permissions) {
-        Optional<EntityEquipment> equipment = Optional.ofNullable(entity.getEquipment());
-        if (!equipment.isPresent()) {
-            return -1;
+        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(player);
+        if (!mainHand.isPresent() || mainHand.get().getType() != toolType) {
+            return;
         }
 
+        if (!ItemDurabilityUtil.removeDurability(player, BukkitEnchantableItem.fromItemStack(mainHand.get()), durability, player.getLocation())) {
+            entityItemHandler.setItemInMainHand(player, null);
+        }
+    }
+
+    protected int getLevelForArmor(LivingEntity entity, GenericEnchantment enchant) { return getLevelForArmor(entity, enchant, null); }
+
+    protected int getLevelForArmor(LivingEntity entity, GenericEnchantment enchant, int[] permissions) {
         if (permissions != null) {
-            boolean canUse = true;
-            for (String p : permissions) {
+            for (int p : permissions) {
                 if (!PermissionUtil.canUseEnchant(entity, p)) {
-                    canUse = false;
-                    break;
+                    return -1;
                 }
             }
-            if (!canUse) {
-                return -1;
-            }
-        }
-
-        int level;
-        try {
-            level = api.getMaxLevel(enchant,
-                    BukkitEnchantableItem.fromItemStack(equipment.get().getHelmet()),
-                    BukkitEnchantableItem.fromItemStack(equipment.get().getChestplate()),
-                    BukkitEnchantableItem.fromItemStack(equipment.get().getLeggings()),
-                    BukkitEnchantableItem.fromItemStack(equipment.get().getBoots())
-            );
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return -1;
         }
 
-        return level;
+        return LoadoutCache.get(entity).getArmorLevel(enchant);
     }
 
-    protected List<LivingEntity> getEntitiesWithArmorEnchant(World world, GenericEnchantment enchant, String[] permissions) {
+    protected List<LivingEntity> getEntitiesWithArmorEnchant(World world, GenericEnchantment enchant, int[] permissions) {
         List<LivingEntity> retVal = new ArrayList<>();
 
         for (LivingEntity entity : world.getLivingEntities()) {
-            Optional<EntityEquipment> equipment = Optional.ofNullable(entity.getEquipment());
-            if (!equipment.isPresent()) {
+            if (entity.getEquipment() == null) {
                 continue;
             }
 
             boolean canUse = true;
-            for (String p : permissions) {
+            for (int p : permissions) {
                 if (!PermissionUtil.canUseEnchant(entity, p)) {
                     canUse = false;
                     break;
@@ -101,17 +129,8 @@ public abstract class EventHolder {
                 continue;
             }
 
-            try {
-                if (api.anyHasEnchantment(enchant,
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getHelmet()),
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getChestplate()),
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getLeggings()),
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getBoots())
-                )) {
-                    retVal.add(entity);
-                }
-            } catch (APIException ex) {
-                logger.error(ex.getMessage(), ex);
+            if (LoadoutCache.get(entity).hasArmorEnchantment(enchant)) {
+                retVal.add(entity);
             }
         }
 
@@ -0,0 +1,82 @@
+package me.egg82.ae.events;
+
+import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.services.item.ItemDataHandler;
+import ninja.egg82.events.BukkitEventFilters;
+import ninja.egg82.events.BukkitEvents;
+import ninja.egg82.service.ServiceLocator;
+import ninja.egg82.service.ServiceNotFoundException;
+import org.bukkit.Bukkit;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.DoubleChest;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Moves legacy lore enchants into stored data at the points where the live slot is known, and
+ * writes the migrated item back through that slot.
+ */
+public class ItemMigrationEvents extends EventHolder {
+    public ItemMigrationEvents(Plugin plugin) {
+        ItemDataHandler dataHandler;
+        try {
+            dataHandler = ServiceLocator.get(ItemDataHandler.class);
+        } catch (InstantiationException | IllegalAccessException | ServiceNotFoundException ex) {
+            logger.error(ex.getMessage(), ex);
+            return;
+        }
+        if (!dataHandler.canStoreData()) {
+            // Nowhere to migrate to, lore stays the only copy
+            return;
+        }
+
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerJoinEvent.class, EventPriority.MONITOR)
+                        .handler(e -> migrate(e.getPlayer().getInventory()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerItemHeldEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> migrate(e.getPlayer().getInventory(), e.getNewSlot()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, InventoryOpenEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> {
+                            if (isContainer(e.getInventory().getHolder())) {
+                                migrate(e.getInventory());
+                            }
+                            migrate(e.getPlayer().getInventory());
+                        })
+        );
+
+        // Players already online (reloads) never fire a join
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            migrate(player.getInventory());
+        }
+    }
+
+    // Menus from other plugins use their own holders (or none), and rebuild their items anyway
+    private boolean isContainer(InventoryHolder holder) { return holder instanceof BlockState || holder instanceof DoubleChest || holder instanceof Entity; }
+
+    private void migrate(Inventory inventory) {
+        for (int i = 0; i < inventory.getSize(); i++) {
+            migrate(inventory, i);
+        }
+    }
+
+    private void migrate(Inventory inventory, int slot) {
+        ItemStack item = inventory.getItem(slot);
+        if (BukkitEnchantableItem.migrate(item)) {
+            inventory.setItem(slot, item);
+        }
+    }
+}
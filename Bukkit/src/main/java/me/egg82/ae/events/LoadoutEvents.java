@@ -0,0 +1,127 @@
+package me.egg82.ae.events;
+
+import java.util.UUID;
+import me.egg82.ae.services.EnchantPresence;
+import me.egg82.ae.services.LoadoutCache;
+import me.egg82.ae.services.PlayerFlags;
+import ninja.egg82.events.BukkitEventFilters;
+import ninja.egg82.events.BukkitEvents;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.*;
+import org.bukkit.plugin.Plugin;
+
+public class LoadoutEvents extends EventHolder {
+    private final Plugin plugin;
+
+    public LoadoutEvents(Plugin plugin) {
+        this.plugin = plugin;
+
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerJoinEvent.class, EventPriority.MONITOR)
+                        .handler(e -> invalidate(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerItemHeldEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> invalidate(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, InventoryClickEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> invalidate(e.getWhoClicked()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, InventoryDragEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> invalidate(e.getWhoClicked()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerItemBreakEvent.class, EventPriority.MONITOR)
+                        .handler(e -> invalidate(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerDropItemEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> invalidate(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerInteractEvent.class, EventPriority.MONITOR)
+                        .filter(PlayerInteractEvent::hasItem)
+                        .handler(e -> invalidate(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerRespawnEvent.class, EventPriority.MONITOR)
+                        .handler(e -> invalidate(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerQuitEvent.class, EventPriority.MONITOR)
+                        .handler(e -> {
+                            LoadoutCache.remove(e.getPlayer().getUniqueId());
+                            EnchantPresence.remove(e.getPlayer().getUniqueId());
+                            PlayerFlags.remove(e.getPlayer());
+                        })
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, EntityDeathEvent.class, EventPriority.MONITOR)
+                        .handler(e -> LoadoutCache.invalidate(e.getEntity().getUniqueId()))
+        );
+
+        try {
+            Class.forName("org.bukkit.event.entity.EntityPickupItemEvent");
+            events.add(
+                    BukkitEvents.subscribe(plugin, EntityPickupItemEvent.class, EventPriority.MONITOR)
+                            .filter(BukkitEventFilters.ignoreCancelled())
+                            .handler(e -> invalidate(e.getEntity()))
+            );
+        } catch (ClassNotFoundException ignored) {
+            events.add(
+                    BukkitEvents.subscribe(plugin, PlayerPickupItemEvent.class, EventPriority.MONITOR)
+                            .filter(BukkitEventFilters.ignoreCancelled())
+                            .handler(e -> invalidate(e.getPlayer()))
+            );
+        }
+        try {
+            Class.forName("org.bukkit.event.player.PlayerSwapHandItemsEvent");
+            events.add(
+                    BukkitEvents.subscribe(plugin, PlayerSwapHandItemsEvent.class, EventPriority.MONITOR)
+                            .filter(BukkitEventFilters.ignoreCancelled())
+                            .handler(e -> invalidate(e.getPlayer()))
+            );
+        } catch (ClassNotFoundException ignored) { }
+        try {
+            Class.forName("com.destroystokyo.paper.event.player.PlayerArmorChangeEvent");
+            events.add(
+                    BukkitEvents.subscribe(plugin, com.destroystokyo.paper.event.player.PlayerArmorChangeEvent.class, EventPriority.MONITOR)
+                            .handler(e -> invalidate(e.getPlayer()))
+            );
+        } catch (ClassNotFoundException ignored) { }
+
+        // Players already online (reloads) never fire a join
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            invalidate(player);
+        }
+    }
+
+    private void invalidate(Entity entity) {
+        UUID uuid = entity.getUniqueId();
+        LoadoutCache.invalidate(uuid);
+        if (entity instanceof Player) {
+            // Not trusted until the loadout is read again, so Trailblazer doesn't have to check it on every move
+            PlayerFlags.set((Player) entity, PlayerFlags.TRAILBLAZER, false);
+        }
+        // Equipment changes are applied after the event returns, so make sure nothing caches the old loadout in the meantime
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            LoadoutCache.invalidate(uuid);
+            if (entity instanceof Player) {
+                EnchantPresence.update((Player) entity);
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package me.egg82.ae.events;
+
+import me.egg82.ae.services.PermissionCache;
+import ninja.egg82.events.BukkitEvents;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+public class PermissionEvents extends EventHolder {
+    public PermissionEvents(Plugin plugin) {
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerJoinEvent.class, EventPriority.MONITOR)
+                        .handler(e -> PermissionCache.compute(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerChangedWorldEvent.class, EventPriority.MONITOR)
+                        .handler(e -> PermissionCache.compute(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerQuitEvent.class, EventPriority.MONITOR)
+                        .handler(e -> PermissionCache.invalidate(e.getPlayer()))
+        );
+
+        try {
+            // Sent whenever the server recalculates a player's permissions
+            Class.forName("org.bukkit.event.player.PlayerCommandSendEvent");
+            events.add(
+                    BukkitEvents.subscribe(plugin, PlayerCommandSendEvent.class, EventPriority.MONITOR)
+                            .handler(e -> PermissionCache.compute(e.getPlayer()))
+            );
+        } catch (ClassNotFoundException ignored) { }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            PermissionCache.compute(player);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package me.egg82.ae.events;
+
+import me.egg82.ae.services.PickupIndex;
+import ninja.egg82.events.BukkitEventFilters;
+import ninja.egg82.events.BukkitEvents;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+public class PickupIndexEvents extends EventHolder {
+    public PickupIndexEvents(Plugin plugin) {
+        events.add(
+                BukkitEvents.subscribe(plugin, ItemSpawnEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> PickupIndex.add(e.getEntity()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, EntitySpawnEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .filter(e -> e.getEntity() instanceof ExperienceOrb)
+                        .handler(e -> PickupIndex.add(e.getEntity()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, ItemDespawnEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> PickupIndex.remove(e.getEntity()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, ItemMergeEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> PickupIndex.remove(e.getEntity()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, ChunkLoadEvent.class, EventPriority.MONITOR)
+                        .handler(e -> {
+                            for (Entity entity : e.getChunk().getEntities()) {
+                                PickupIndex.add(entity);
+                            }
+                        })
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, ChunkUnloadEvent.class, EventPriority.MONITOR)
+                        .handler(e -> PickupIndex.removeChunk(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, WorldUnloadEvent.class, EventPriority.MONITOR)
+                        .filter(BukkitEventFilters.ignoreCancelled())
+                        .handler(e -> PickupIndex.removeWorld(e.getWorld()))
+        );
+
+        // Pickups remove the entity, which the index notices on its own
+
+        for (World world : Bukkit.getWorlds()) {
+            for (Entity entity : world.getEntitiesByClasses(Item.class, ExperienceOrb.class)) {
+                PickupIndex.add(entity);
+            }
+        }
+    }
+}
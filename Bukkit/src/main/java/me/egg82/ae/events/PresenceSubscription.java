@@ -0,0 +1,38 @@
+package me.egg82.ae.events;
+
+import java.util.function.Supplier;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.services.EnchantPresence;
+import ninja.egg82.events.BukkitEventSubscriber;
+
+/**
+ * Keeps a listener subscribed only while an online player carries the enchant.
+ */
+class PresenceSubscription implements EnchantPresence.Listener {
+    private final GenericEnchantment enchant;
+    private final Supplier<BukkitEventSubscriber<?>> subscriber;
+
+    private BukkitEventSubscriber<?> current = null;
+
+    PresenceSubscription(GenericEnchantment enchant, Supplier<BukkitEventSubscriber<?>> subscriber) {
+        this.enchant = enchant;
+        this.subscriber = subscriber;
+    }
+
+    GenericEnchantment getEnchant() { return enchant; }
+
+    boolean isActive() { return current != null; }
+
+    public void present() {
+        if (current == null) {
+            current = subscriber.get();
+        }
+    }
+
+    public void absent() {
+        if (current != null) {
+            current.cancel();
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package me.egg82.ae.events;
+
+import me.egg82.ae.enums.StatusEffect;
+import me.egg82.ae.services.StatusEffectEngine;
+import ninja.egg82.events.BukkitEvents;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+public class StatusEffectEvents extends EventHolder {
+    public StatusEffectEvents(Plugin plugin) {
+        events.add(
+                BukkitEvents.subscribe(plugin, EntityDeathEvent.class, EventPriority.MONITOR)
+                        .filter(e -> !StatusEffectEngine.isEmpty())
+                        .handler(e -> drop(e.getEntity()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerQuitEvent.class, EventPriority.MONITOR)
+                        .filter(e -> !StatusEffectEngine.isEmpty())
+                        .handler(e -> {
+                            drop(e.getPlayer());
+                            // Players get a new entity id when they come back
+                            StatusEffectEngine.park(e.getPlayer());
+                        })
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerJoinEvent.class, EventPriority.LOWEST)
+                        .filter(e -> !StatusEffectEngine.isEmpty())
+                        .handler(e -> StatusEffectEngine.restore(e.getPlayer()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, ChunkUnloadEvent.class, EventPriority.MONITOR)
+                        .filter(e -> !StatusEffectEngine.isEmpty())
+                        .handler(e -> {
+                            for (Entity entity : e.getChunk().getEntities()) {
+                                drop(entity);
+                            }
+                        })
+        );
+    }
+
+    private void drop(Entity entity) {
+        if (entity instanceof Player) {
+            // Players come back with the same UUID, so only the damage over time goes
+            StatusEffectEngine.remove(entity, StatusEffect.BLEEDING);
+            StatusEffectEngine.remove(entity, StatusEffect.FREEZING);
+            return;
+        }
+        StatusEffectEngine.removeAll(entity);
+    }
+}
@@ -1,54 +1,117 @@
 package me.egg82.ae.events.curses;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.item.ItemDataHandler;
 import me.egg82.ae.utils.InventoryUtil;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEventFilters;
+import ninja.egg82.events.BukkitEventSubscriber;
 import ninja.egg82.events.BukkitEvents;
+import ninja.egg82.service.ServiceLocator;
+import ninja.egg82.service.ServiceNotFoundException;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.Plugin;
 
 public class AdherenceEvents extends EventHolder {
+    private static final int ADHERENCE_PERMISSION = PermissionCache.getNodeId("ae.curse.adherence");
+
+    private final Plugin plugin;
+    private final ItemDataHandler dataHandler;
+
+    private final Set<UUID> viewers = new HashSet<>();
+    private BukkitEventSubscriber<InventoryMoveItemEvent> moveEvent = null;
+
     public AdherenceEvents(Plugin plugin) {
+        this.plugin = plugin;
+
+        ItemDataHandler handler;
+        try {
+            handler = ServiceLocator.get(ItemDataHandler.class);
+        } catch (InstantiationException | IllegalAccessException | ServiceNotFoundException ex) {
+            logger.error(ex.getMessage(), ex);
+            handler = null;
+        }
+        dataHandler = handler;
+
         events.add(
                 BukkitEvents.subscribe(plugin, InventoryClickEvent.class, EventPriority.LOW)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getWhoClicked(), "ae.curse.adherence"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getWhoClicked(), ADHERENCE_PERMISSION))
                         .filter(e -> !e.getWhoClicked().hasPermission("ae.admin"))
                         .handler(this::click)
         );
         events.add(
                 BukkitEvents.subscribe(plugin, InventoryDragEvent.class, EventPriority.LOW)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getWhoClicked(), "ae.curse.adherence"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getWhoClicked(), ADHERENCE_PERMISSION))
                         .filter(e -> !e.getWhoClicked().hasPermission("ae.admin"))
                         .handler(this::drag)
         );
 
         events.add(
-                BukkitEvents.subscribe(plugin, InventoryMoveItemEvent.class, EventPriority.LOW)
+                BukkitEvents.subscribe(plugin, InventoryOpenEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> {
-                            if (e.getSource().getViewers().isEmpty()) {
-                                return false;
-                            }
-                            if (!PermissionUtil.canUseEnchant(e.getSource().getViewers().get(0), "ae.curse.adherence")) {
-                                return true;
-                            }
-                            if (e.getSource().getViewers().get(0).hasPermission("ae.admin")) {
-                                return true;
-                            }
-                            return false;
-                        })
-                        .handler(this::move)
+                        .handler(e -> open(e.getPlayer().getUniqueId()))
         );
+        events.add(
+                BukkitEvents.subscribe(plugin, InventoryCloseEvent.class, EventPriority.MONITOR)
+                        .handler(e -> close(e.getPlayer().getUniqueId()))
+        );
+        events.add(
+                BukkitEvents.subscribe(plugin, PlayerQuitEvent.class, EventPriority.MONITOR)
+                        .handler(e -> close(e.getPlayer().getUniqueId()))
+        );
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.getOpenInventory().getTopInventory().getType() != InventoryType.CRAFTING) {
+                open(player.getUniqueId());
+            }
+        }
+    }
+
+    // Hopper moves are only checked for viewed inventories, so the listener is only needed while someone has one open
+    private void open(UUID uuid) {
+        if (viewers.add(uuid) && moveEvent == null) {
+            moveEvent = BukkitEvents.subscribe(plugin, InventoryMoveItemEvent.class, EventPriority.LOW)
+                    .filter(e -> !e.getSource().getViewers().isEmpty())
+                    .filter(BukkitEventFilters.ignoreCancelled())
+                    .filter(e -> {
+                        if (!PermissionUtil.canUseEnchant(e.getSource().getViewers().get(0), ADHERENCE_PERMISSION)) {
+                            return true;
+                        }
+                        if (e.getSource().getViewers().get(0).hasPermission("ae.admin")) {
+                            return true;
+                        }
+                        return false;
+                    })
+                    .handler(this::move);
+            events.add(moveEvent);
+        }
+    }
+
+    private void close(UUID uuid) {
+        if (viewers.remove(uuid) && viewers.isEmpty() && moveEvent != null) {
+            moveEvent.cancel();
+            events.remove(moveEvent);
+            moveEvent = null;
+        }
     }
 
     private void click(InventoryClickEvent event) {
@@ -103,6 +166,16 @@ public class AdherenceEvents extends EventHolder {
     }
 
     private void move(InventoryMoveItemEvent event) {
+        // Most hopper moves carry plain items, so rule them out without copying the meta
+        if (dataHandler != null && dataHandler.canStoreData()) {
+            if (!dataHandler.getData(event.getItem()).isPresent()) {
+                return;
+            }
+        } else if (!event.getItem().hasItemMeta()) {
+            // Legacy servers keep custom enchants in lore, which still lives in the meta
+            return;
+        }
+
         if (BukkitEnchantableItem.fromItemStack(event.getItem()).hasEnchantment(AdvancedEnchantment.ADHERENCE_CURSE)) {
             event.setCancelled(true);
         }
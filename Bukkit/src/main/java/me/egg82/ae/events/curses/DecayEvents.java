@@ -5,6 +5,7 @@ import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEventFilters;
 import ninja.egg82.events.BukkitEvents;
@@ -13,13 +14,15 @@ import org.bukkit.event.player.PlayerItemDamageEvent;
 import org.bukkit.plugin.Plugin;
 
 public class DecayEvents extends EventHolder {
+    private static final int DECAY_PERMISSION = PermissionCache.getNodeId("ae.curse.decay");
+
     public DecayEvents(Plugin plugin) {
         try {
             Class.forName("org.bukkit.event.player.PlayerItemDamageEvent");
-            events.add(
+            addWhilePresent(AdvancedEnchantment.DECAY_CURSE, () ->
                     BukkitEvents.subscribe(plugin, PlayerItemDamageEvent.class, EventPriority.LOW)
                             .filter(BukkitEventFilters.ignoreCancelled())
-                            .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.curse.decay"))
+                            .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), DECAY_PERMISSION))
                             .handler(this::damage)
             );
         } catch (ClassNotFoundException ignored) { }
@@ -1,60 +1,41 @@
 package me.egg82.ae.events.curses;
 
-import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.LoadoutCache;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityDamageHandler;
 import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
 import org.bukkit.entity.Damageable;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.inventory.EntityEquipment;
-import org.bukkit.plugin.Plugin;
 
 public class EmpathyEvents extends EventHolder {
-    public EmpathyEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .handler(this::damageNearby)
-        );
+    private static final int EMPATHY_PERMISSION = PermissionCache.getNodeId("ae.curse.empathy");
+
+    public EmpathyEvents(CombatPipeline combatPipeline) {
+        // The curse is on bystanders rather than either side of the hit, so this runs for every hit
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, this::damageNearby);
     }
 
-    private void damageNearby(EntityDamageByEntityEvent event) {
+    private void damageNearby(CombatContext context, int unused) {
+        EntityDamageByEntityEvent event = context.getEvent();
+
         for (Entity e : event.getEntity().getNearbyEntities(15.0d, 15.0d, 15.0d)) {
             if (e.getUniqueId().equals(event.getEntity().getUniqueId()) || !(e instanceof LivingEntity)) {
                 continue;
             }
 
-            if (!PermissionUtil.canUseEnchant(e, "ae.curse.empathy")) {
-                continue;
-            }
-
-            Optional<EntityEquipment> equipment = Optional.ofNullable(((LivingEntity) e).getEquipment());
-            if (!equipment.isPresent()) {
-                continue;
-            }
-
-            GenericEnchantableItem enchantableChestplate = BukkitEnchantableItem.fromItemStack(equipment.get().getChestplate());
-
-            boolean hasEnchantment;
-            int level;
-            try {
-                hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.EMPATHY_CURSE, enchantableChestplate);
-                level = api.getMaxLevel(AdvancedEnchantment.EMPATHY_CURSE, enchantableChestplate);
-            } catch (APIException ex) {
-                logger.error(ex.getMessage(), ex);
+            int level = LoadoutCache.get((LivingEntity) e).getLevel(AdvancedEnchantment.EMPATHY_CURSE, LoadoutSnapshot.CHESTPLATE);
+            if (level < 0) {
                 continue;
             }
 
-            if (!hasEnchantment) {
+            if (!PermissionUtil.canUseEnchant(e, EMPATHY_PERMISSION)) {
                 continue;
             }
 
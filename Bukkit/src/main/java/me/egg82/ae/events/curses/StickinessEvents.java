@@ -1,12 +1,13 @@
 package me.egg82.ae.events.curses;
 
-import java.util.concurrent.TimeUnit;
 import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.enums.StatusEffect;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.StatusEffectEngine;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEventFilters;
 import ninja.egg82.events.BukkitEvents;
@@ -15,17 +16,19 @@ import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.plugin.Plugin;
 
 public class StickinessEvents extends EventHolder {
+    private static final int STICKINESS_PERMISSION = PermissionCache.getNodeId("ae.curse.stickiness");
+
     public StickinessEvents(Plugin plugin) {
         events.add(
                 BukkitEvents.subscribe(plugin, PlayerItemHeldEvent.class, EventPriority.LOWEST)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.curse.stickiness"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), STICKINESS_PERMISSION))
                         .handler(this::held)
         );
         events.add(
                 BukkitEvents.subscribe(plugin, PlayerItemHeldEvent.class, EventPriority.LOW)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getStickiness().containsKey(e.getPlayer().getUniqueId()))
+                        .filter(e -> StatusEffectEngine.has(e.getPlayer(), StatusEffect.STICKINESS))
                         .handler(e -> e.setCancelled(true))
         );
     }
@@ -47,6 +50,6 @@ public class StickinessEvents extends EventHolder {
             return;
         }
 
-        CollectionProvider.getStickiness().put(event.getPlayer().getUniqueId(), level, level * 750L, TimeUnit.MILLISECONDS);
+        StatusEffectEngine.put(event.getPlayer(), StatusEffect.STICKINESS, level, level * 15L);
     }
 }
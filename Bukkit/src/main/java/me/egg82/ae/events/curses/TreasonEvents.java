@@ -2,73 +2,61 @@ package me.egg82.ae.events.curses;
 
 import java.util.Map;
 import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.LoadoutCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
-import ninja.egg82.service.ServiceLocator;
-import ninja.egg82.service.ServiceNotFoundException;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
 
 public class TreasonEvents extends EventHolder {
-    public TreasonEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getEntity() instanceof LivingEntity)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), "ae.curse.treason"))
-                        .handler(this::damage)
-        );
+    public TreasonEvents(CombatPipeline combatPipeline) {
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, AdvancedEnchantment.TREASON_CURSE, CombatPipeline.Source.VICTIM_EQUIPMENT, "ae.curse.treason", this::damage);
     }
 
-    private void damage(EntityDamageByEntityEvent event) {
-        EntityItemHandler entityItemHandler;
-        try {
-            entityItemHandler = ServiceLocator.get(EntityItemHandler.class);
-        } catch (InstantiationException | IllegalAccessException | ServiceNotFoundException ex) {
-            logger.error(ex.getMessage(), ex);
+    private void damage(CombatContext context, int level) {
+        EntityItemHandler entityItemHandler = getItemHandler();
+        if (entityItemHandler == null) {
             return;
         }
 
-        Entity from = event.getDamager();
-        LivingEntity to = (LivingEntity) event.getEntity();
+        Entity from = context.getEvent().getDamager();
+        LivingEntity to = context.getVictim();
+        LoadoutSnapshot loadout = context.getVictimLoadout();
+        // The snapshot was taken before any items moved, so it still holds the levels to roll against
+        LoadoutCache.invalidate(to.getUniqueId());
 
         Optional<EntityEquipment> equipment = Optional.ofNullable(to.getEquipment());
         if (!equipment.isPresent()) {
             return;
         }
 
-        if (tryCurse(BukkitEnchantableItem.fromItemStack(equipment.get().getHelmet()))) {
+        if (tryCurse(loadout, LoadoutSnapshot.HELMET)) {
             transferItem(from, equipment.get().getHelmet());
             equipment.get().setHelmet(null);
         }
-        if (tryCurse(BukkitEnchantableItem.fromItemStack(equipment.get().getChestplate()))) {
+        if (tryCurse(loadout, LoadoutSnapshot.CHESTPLATE)) {
             transferItem(from, equipment.get().getChestplate());
             equipment.get().setChestplate(null);
         }
-        if (tryCurse(BukkitEnchantableItem.fromItemStack(equipment.get().getLeggings()))) {
+        if (tryCurse(loadout, LoadoutSnapshot.LEGGINGS)) {
             transferItem(from, equipment.get().getLeggings());
             equipment.get().setLeggings(null);
         }
-        if (tryCurse(BukkitEnchantableItem.fromItemStack(equipment.get().getBoots()))) {
+        if (tryCurse(loadout, LoadoutSnapshot.BOOTS)) {
             transferItem(from, equipment.get().getBoots());
             equipment.get().setBoots(null);
         }
 
         Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(to);
         if (mainHand.isPresent()) {
-            if (tryCurse(BukkitEnchantableItem.fromItemStack(mainHand.get()))) {
+            if (tryCurse(loadout, LoadoutSnapshot.MAIN_HAND)) {
                 transferItem(from, mainHand.get());
                 entityItemHandler.setItemInMainHand(to, null);
             }
@@ -76,25 +64,16 @@ public class TreasonEvents extends EventHolder {
 
         Optional<ItemStack> offHand = entityItemHandler.getItemInOffHand(to);
         if (offHand.isPresent()) {
-            if (tryCurse(BukkitEnchantableItem.fromItemStack(offHand.get()))) {
+            if (tryCurse(loadout, LoadoutSnapshot.OFF_HAND)) {
                 transferItem(from, offHand.get());
                 entityItemHandler.setItemInOffHand(to, null);
             }
         }
     }
 
-    private boolean tryCurse(BukkitEnchantableItem item) {
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.TREASON_CURSE, item);
-            level = api.getMaxLevel(AdvancedEnchantment.TREASON_CURSE, item);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return false;
-        }
-
-        if (!hasEnchantment) {
+    private boolean tryCurse(LoadoutSnapshot loadout, int slot) {
+        int level = loadout.getLevel(AdvancedEnchantment.TREASON_CURSE, slot);
+        if (level < 0) {
             return false;
         }
 
@@ -102,6 +81,8 @@ public class TreasonEvents extends EventHolder {
     }
 
     private void transferItem(Entity to, ItemStack item) {
+        LoadoutCache.invalidate(to.getUniqueId());
+
         if (to instanceof InventoryHolder) {
             Map<Integer, ItemStack> droppedItems = ((InventoryHolder) to).getInventory().addItem(item);
             for (Map.Entry<Integer, ItemStack> kvp : droppedItems.entrySet()) {
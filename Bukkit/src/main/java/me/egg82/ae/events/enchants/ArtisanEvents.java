@@ -1,16 +1,20 @@
 package me.egg82.ae.events.enchants;
 
-import java.util.HashSet;
 import java.util.Optional;
-import java.util.Set;
 import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.core.BlockRegion;
+import me.egg82.ae.events.BlockBreakPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.AreaBreakScheduler;
 import me.egg82.ae.services.EnumFilter;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.SyntheticBreakGuard;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.services.material.MaterialLookup;
+import me.egg82.ae.utils.BlockKeyUtil;
 import me.egg82.ae.utils.BlockUtil;
 import me.egg82.ae.utils.ItemDurabilityUtil;
 import me.egg82.ae.utils.PermissionUtil;
@@ -18,9 +22,10 @@ import ninja.egg82.events.BukkitEventFilters;
 import ninja.egg82.events.BukkitEvents;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
-import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
@@ -28,6 +33,8 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 public class ArtisanEvents extends EventHolder {
+    private static final int ARTISAN_PERMISSION = PermissionCache.getNodeId("ae.enchant.artisan");
+
     private static final Material[] hoeMaterials;
     private static final Material dirtMaterial;
     private static final Material pathMaterial;
@@ -49,79 +56,92 @@ public class ArtisanEvents extends EventHolder {
         coarseDirtMaterial = m.isPresent() ? m.get() : null;
     }
 
-    public ArtisanEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> !CollectionProvider.getArtisan().contains(e.getBlock().getLocation()))
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.artisan"))
-                        .handler(this::blockBreak)
-        );
+    private final Plugin plugin;
+
+    public ArtisanEvents(Plugin plugin, BlockBreakPipeline blockBreakPipeline) {
+        this.plugin = plugin;
+
+        blockBreakPipeline.register(BlockBreakPipeline.Stage.AREA, AdvancedEnchantment.ARTISAN, "ae.enchant.artisan", this::blockBreak);
         events.add(
                 BukkitEvents.subscribe(plugin, PlayerInteractEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
                         .filter(PlayerInteractEvent::hasBlock)
-                        .filter(e -> !CollectionProvider.getArtisan().contains(e.getClickedBlock().getLocation()))
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.artisan"))
+                        .filter(e -> !SyntheticBreakGuard.isActive(SyntheticBreakGuard.Source.ARTISAN))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), ARTISAN_PERMISSION))
                         .handler(this::hoeInteract)
         );
     }
 
-    private void blockBreak(BlockBreakEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
+    private void blockBreak(BlockBreakContext context, int level) {
+        BlockBreakEvent event = context.getEvent();
+
+        if (level <= 0 || SyntheticBreakGuard.isActive(SyntheticBreakGuard.Source.ARTISAN)) {
             return;
         }
 
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(event.getPlayer());
-        BukkitEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
+        Player player = event.getPlayer();
+        Block origin = event.getBlock();
+        ItemStack tool = context.getItem().clone();
+        Material searchType = origin.getType();
+        byte searchData = origin.getData();
 
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.ARTISAN, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.ARTISAN, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
+        // The type is read now, since a drop transform may replace the original block before the search runs
+        context.defer(() -> search(player, origin, tool, searchType, searchData, level));
+    }
 
-        if (!hasEnchantment || level <= 0) {
+    private void search(Player player, Block origin, ItemStack tool, Material searchType, byte searchData, int level) {
+        // Only snapshotted because the search runs async, where the server supports it
+        BlockRegion region = BlockRegion.captureAround(origin.getWorld(), origin.getX(), origin.getY(), origin.getZ(), level, level, level);
+        if (!region.isThreadSafe()) {
+            submit(player, region, BlockUtil.getSimilarBlocks(region, origin.getX(), origin.getY(), origin.getZ(), searchType, searchData, level + 1), tool, searchType);
             return;
         }
 
-        Set<Location> blockLocations = getSimilarBlocks(event.getBlock(), level + 1, new HashSet<>());
-
-        Location originalLocation = event.getBlock().getLocation();
-
-        for (Location location : blockLocations) {
-            if (location.equals(originalLocation)) {
-                continue;
+        // The search only reads the snapshots, so it can run off the main thread
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            long[] blockKeys = BlockUtil.getSimilarBlocks(region, origin.getX(), origin.getY(), origin.getZ(), searchType, searchData, level + 1);
+            if (blockKeys.length > 1 && plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> submit(player, region, blockKeys, tool, searchType));
             }
+        });
+    }
 
-            Block block = location.getBlock();
+    private void submit(Player player, BlockRegion region, long[] blockKeys, ItemStack tool, Material searchType) {
+        // The first key is the original block
+        AreaBreakScheduler.submit(
+                player,
+                region.getWorld(),
+                blockKeys,
+                1,
+                (p, block) -> breakBlock(p, block, tool, searchType),
+                (p, count) -> removeToolDurability(p, tool.getType(), count)
+        );
+    }
 
-            CollectionProvider.getArtisan().add(location);
+    private boolean breakBlock(Player player, Block block, ItemStack tool, Material searchType) {
+        // The block may have changed since it was picked
+        if (block.getType() != searchType) {
+            return false;
+        }
 
-            BlockBreakEvent e = new BlockBreakEvent(block, event.getPlayer());
+        BlockBreakEvent e = new BlockBreakEvent(block, player);
+        SyntheticBreakGuard.enter(SyntheticBreakGuard.Source.ARTISAN);
+        try {
             Bukkit.getPluginManager().callEvent(e);
+        } finally {
+            SyntheticBreakGuard.exit(SyntheticBreakGuard.Source.ARTISAN);
+        }
 
-            CollectionProvider.getArtisan().remove(location);
-
-            if (!e.isCancelled()) {
-                if (event.getPlayer().getGameMode() != GameMode.CREATIVE) {
-                    block.breakNaturally(mainHand.get());
-                } else {
-                    block.setType(Material.AIR);
-                }
-            }
+        if (e.isCancelled()) {
+            return false;
         }
 
-        if (event.getPlayer().getGameMode() != GameMode.CREATIVE) {
-            if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, blockLocations.size() - 1, event.getPlayer().getLocation())) {
-                entityItemHandler.setItemInMainHand(event.getPlayer(), null);
-            }
+        if (player.getGameMode() != GameMode.CREATIVE) {
+            block.breakNaturally(tool);
+        } else {
+            block.setType(Material.AIR);
         }
+        return true;
     }
 
     private void hoeInteract(PlayerInteractEvent event) {
@@ -159,23 +179,21 @@ public class ArtisanEvents extends EventHolder {
             return;
         }
 
-        Set<Location> blockLocations = getSimilarBlocks(event.getClickedBlock(), level + 1, new HashSet<>());
-
-        Location originalLocation = event.getClickedBlock().getLocation();
-
-        for (Location location : blockLocations) {
-            if (location.equals(originalLocation)) {
-                continue;
-            }
-
-            Block block = location.getBlock();
-
-            CollectionProvider.getArtisan().add(location);
+        Block origin = event.getClickedBlock();
+        BlockRegion region = BlockRegion.viewAround(origin.getWorld(), origin.getX(), origin.getY(), origin.getZ(), level, level, level);
+        long[] blockKeys = BlockUtil.getSimilarBlocks(region, origin.getX(), origin.getY(), origin.getZ(), origin.getType(), origin.getData(), level + 1);
+        World world = origin.getWorld();
 
+        // The first key is the original block
+        for (int i = 1; i < blockKeys.length; i++) {
+            Block block = world.getBlockAt(BlockKeyUtil.getX(blockKeys[i]), BlockKeyUtil.getY(blockKeys[i]), BlockKeyUtil.getZ(blockKeys[i]));
             PlayerInteractEvent e = new PlayerInteractEvent(event.getPlayer(), event.getAction(), event.getItem(), block, event.getBlockFace(), event.getHand());
-            Bukkit.getPluginManager().callEvent(e);
-
-            CollectionProvider.getArtisan().remove(location);
+            SyntheticBreakGuard.enter(SyntheticBreakGuard.Source.ARTISAN);
+            try {
+                Bukkit.getPluginManager().callEvent(e);
+            } finally {
+                SyntheticBreakGuard.exit(SyntheticBreakGuard.Source.ARTISAN);
+            }
 
             if (!e.isCancelled()) {
                 if (block.getType() == dirtMaterial || block.getType() == Material.GRASS_BLOCK || block.getType() == pathMaterial) {
@@ -187,41 +205,9 @@ public class ArtisanEvents extends EventHolder {
         }
 
         if (event.getPlayer().getGameMode() != GameMode.CREATIVE) {
-            if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, blockLocations.size() - 1, event.getPlayer().getLocation())) {
+            if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, blockKeys.length - 1, event.getPlayer().getLocation())) {
                 entityItemHandler.setItemInMainHand(event.getPlayer(), null);
             }
         }
     }
-
-    private Set<Location> getSimilarBlocks(Block block, int depth, Set<Location> walked) {
-        Set<Location> retVal = new HashSet<>();
-
-        if (depth <= 0) {
-            return retVal;
-        }
-
-        if (!walked.add(block.getLocation())) {
-            return retVal;
-        }
-
-        retVal.add(block.getLocation());
-
-        Material searchType = block.getType();
-        byte searchData = block.getData();
-
-        for (Block b : BlockUtil.getBlocks(block.getLocation(), 1, 1, 1)) {
-            Material type = b.getType();
-
-            if (type == Material.AIR || type == Material.BEDROCK || type == Material.BARRIER) {
-                continue;
-            }
-            if (type != searchType || b.getData() != searchData) {
-                continue;
-            }
-
-            retVal.addAll(getSimilarBlocks(b, depth - 1, walked));
-        }
-
-        return retVal;
-    }
 }
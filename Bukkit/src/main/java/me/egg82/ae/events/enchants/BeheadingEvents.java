@@ -9,6 +9,7 @@ import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.services.lookup.PlayerInfo;
 import me.egg82.ae.services.lookup.PlayerLookup;
@@ -28,6 +29,8 @@ import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.plugin.Plugin;
 
 public class BeheadingEvents extends EventHolder {
+    private static final int BEHEADING_PERMISSION = PermissionCache.getNodeId("ae.enchant.beheading");
+
     private final Plugin plugin;
 
     private static Material skullMaterial;
@@ -54,7 +57,7 @@ public class BeheadingEvents extends EventHolder {
         events.add(
                 BukkitEvents.subscribe(plugin, EntityDeathEvent.class, EventPriority.MONITOR)
                         .filter(e -> e.getEntity().getKiller() != null)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), "ae.enchant.beheading"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), BEHEADING_PERMISSION))
                         .handler(this::death)
         );
     }
@@ -1,56 +1,19 @@
 package me.egg82.ae.events.enchants;
 
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.enums.StatusEffect;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.CollectionProvider;
-import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
-import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
+import me.egg82.ae.services.StatusEffectEngine;
 
 public class BleedingEvents extends EventHolder {
-    public BleedingEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getDamager() instanceof LivingEntity)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getDamager(), "ae.enchant.bleeding"))
-                        .handler(this::damage)
-        );
+    public BleedingEvents(CombatPipeline combatPipeline) {
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, AdvancedEnchantment.BLEEDING, CombatPipeline.Source.ATTACKER_MAIN_HAND, "ae.enchant.bleeding", this::damage);
     }
 
-    private void damage(EntityDamageByEntityEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
-
-        LivingEntity from = (LivingEntity) event.getDamager();
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(from);
-        GenericEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.BLEEDING, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.BLEEDING, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment || level <= 0) {
+    private void damage(CombatContext context, int level) {
+        if (level <= 0) {
             return;
         }
 
@@ -58,6 +21,6 @@ public class BleedingEvents extends EventHolder {
             return;
         }
 
-        CollectionProvider.getBleeding().put(event.getEntity().getUniqueId(), level * (event.getFinalDamage() * 0.15), 3500L, TimeUnit.MILLISECONDS);
+        StatusEffectEngine.put(context.getEvent().getEntity(), StatusEffect.BLEEDING, level * (context.getEvent().getFinalDamage() * 0.15), 70L);
     }
 }
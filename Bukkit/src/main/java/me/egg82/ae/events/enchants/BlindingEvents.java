@@ -1,56 +1,19 @@
 package me.egg82.ae.events.enchants;
 
-import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
-import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
 public class BlindingEvents extends EventHolder {
-    public BlindingEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getDamager() instanceof LivingEntity && e.getEntity() instanceof LivingEntity)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getDamager(), "ae.enchant.blinding"))
-                        .handler(this::damage)
-        );
+    public BlindingEvents(CombatPipeline combatPipeline) {
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, AdvancedEnchantment.BLINDING, CombatPipeline.Source.ATTACKER_MAIN_HAND, "ae.enchant.blinding", this::damage);
     }
 
-    private void damage(EntityDamageByEntityEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
-
-        LivingEntity from = (LivingEntity) event.getDamager();
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(from);
-        GenericEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.BLINDING, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.BLINDING, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment) {
+    private void damage(CombatContext context, int level) {
+        if (context.getVictim() == null) {
             return;
         }
 
@@ -58,6 +21,6 @@ public class BlindingEvents extends EventHolder {
             return;
         }
 
-        ((LivingEntity) event.getEntity()).addPotionEffect(new PotionEffect(PotionEffectType.BLINDNESS, level * 10, level), true);
+        context.getVictim().addPotionEffect(new PotionEffect(PotionEffectType.BLINDNESS, level * 10, level), true);
     }
 }
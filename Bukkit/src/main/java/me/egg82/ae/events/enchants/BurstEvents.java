@@ -6,6 +6,7 @@ import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.ItemDurabilityUtil;
 import me.egg82.ae.utils.LocationUtil;
@@ -25,6 +26,8 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.util.Vector;
 
 public class BurstEvents extends EventHolder {
+    private static final int BURST_PERMISSION = PermissionCache.getNodeId("ae.enchant.burst");
+
     private final Plugin plugin;
 
     public BurstEvents(Plugin plugin) {
@@ -33,7 +36,7 @@ public class BurstEvents extends EventHolder {
         events.add(
                 BukkitEvents.subscribe(plugin, EntityShootBowEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), "ae.enchant.burst"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), BURST_PERMISSION))
                         .handler(this::shoot)
         );
     }
@@ -1,62 +1,35 @@
 package me.egg82.ae.events.enchants;
 
 import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.LoadoutCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
 
 public class DisarmingEvents extends EventHolder {
-    public DisarmingEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getDamager() instanceof LivingEntity && e.getEntity() instanceof LivingEntity)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getDamager(), "ae.enchant.disarming"))
-                        .handler(this::damage)
-        );
+    public DisarmingEvents(CombatPipeline combatPipeline) {
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, AdvancedEnchantment.DISARMING, CombatPipeline.Source.ATTACKER_MAIN_HAND, "ae.enchant.disarming", this::damage);
     }
 
-    private void damage(EntityDamageByEntityEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
+    private void damage(CombatContext context, int level) {
+        if (context.getVictim() == null) {
             return;
         }
 
-        LivingEntity from = (LivingEntity) event.getDamager();
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(from);
-        GenericEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.DISARMING, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.DISARMING, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment) {
+        if (Math.random() > 0.02 * level) {
             return;
         }
 
-        if (Math.random() > 0.02 * level) {
+        EntityItemHandler entityItemHandler = getItemHandler();
+        if (entityItemHandler == null) {
             return;
         }
 
-        LivingEntity to = (LivingEntity) event.getEntity();
+        LivingEntity to = context.getVictim();
 
         Optional<ItemStack> otherMainHand = entityItemHandler.getItemInMainHand(to);
         Optional<ItemStack> otherOffHand = entityItemHandler.getItemInOffHand(to);
@@ -68,5 +41,6 @@ public class DisarmingEvents extends EventHolder {
             to.getWorld().dropItemNaturally(to.getLocation(), otherOffHand.get());
             entityItemHandler.setItemInOffHand(to, null);
         }
+        LoadoutCache.invalidate(to.getUniqueId());
     }
 }
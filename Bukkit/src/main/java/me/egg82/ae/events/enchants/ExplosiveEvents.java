@@ -1,61 +1,35 @@
 package me.egg82.ae.events.enchants;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.core.BlockRegion;
+import me.egg82.ae.events.BlockBreakPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.CollectionProvider;
-import me.egg82.ae.services.entity.EntityItemHandler;
+import me.egg82.ae.services.AreaBreakScheduler;
+import me.egg82.ae.services.SyntheticBreakGuard;
 import me.egg82.ae.utils.*;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.event.EventPriority;
+import org.bukkit.entity.Player;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
 
 public class ExplosiveEvents extends EventHolder {
     private final boolean hasHardnessMethod = ReflectUtil.hasMethod("getHardness", Material.class);
 
-    public ExplosiveEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> !CollectionProvider.getExplosive().contains(e.getBlock().getLocation()))
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.explosive"))
-                        .filter(e -> e.getBlock().getType().isBlock())
-                        .handler(this::blockBreak)
-        );
+    public ExplosiveEvents(BlockBreakPipeline blockBreakPipeline) {
+        blockBreakPipeline.register(BlockBreakPipeline.Stage.AREA, AdvancedEnchantment.EXPLOSIVE, "ae.enchant.explosive", this::blockBreak);
     }
 
-    private void blockBreak(BlockBreakEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(event.getPlayer());
-        BukkitEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.EXPLOSIVE, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.EXPLOSIVE, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
+    private void blockBreak(BlockBreakContext context, int level) {
+        BlockBreakEvent event = context.getEvent();
 
-        if (!hasEnchantment || level <= 0) {
+        if (level <= 0 || SyntheticBreakGuard.isActive(SyntheticBreakGuard.Source.EXPLOSIVE) || !event.getBlock().getType().isBlock()) {
             return;
         }
 
@@ -65,55 +39,80 @@ public class ExplosiveEvents extends EventHolder {
             facing = facingBlocks.get(1).getFace(facingBlocks.get(0));
         }
 
-        List<Block> blocks;
+        int xRadius = level, yRadius = level, zRadius = level;
         if (facing == BlockFace.NORTH || facing == BlockFace.SOUTH) {
-            blocks = BlockUtil.getBlocks(event.getBlock().getLocation(), level, level, 0);
+            zRadius = 0;
         } else if (facing == BlockFace.UP || facing == BlockFace.DOWN) {
-            blocks = BlockUtil.getBlocks(event.getBlock().getLocation(), level, 0, level);
+            yRadius = 0;
         } else {
-            blocks = BlockUtil.getBlocks(event.getBlock().getLocation(), 0, level, level);
+            xRadius = 0;
         }
 
-        int blockCount = 1;
-        Location originalLocation = event.getBlock().getLocation();
-        float originalHardness = hasHardnessMethod ? event.getBlock().getType().getHardness() : 0.0f;
+        Block origin = event.getBlock();
+        float originalHardness = hasHardnessMethod ? origin.getType().getHardness() : 0.0f;
+
+        // Blocks that can't be broken are left out up front, the rest are checked again when their turn comes
+        BlockRegion region = BlockRegion.viewAround(origin.getWorld(), origin.getX(), origin.getY(), origin.getZ(), xRadius, yRadius, zRadius);
+        long[] keys = new long[(xRadius * 2 + 1) * (yRadius * 2 + 1) * (zRadius * 2 + 1) - 1];
+        int numKeys = 0;
+        for (int x = origin.getX() - xRadius; x <= origin.getX() + xRadius; x++) {
+            for (int z = origin.getZ() - zRadius; z <= origin.getZ() + zRadius; z++) {
+                for (int y = origin.getY() - yRadius; y <= origin.getY() + yRadius; y++) {
+                    if (x == origin.getX() && y == origin.getY() && z == origin.getZ()) {
+                        continue;
+                    }
+                    if (!canBreak(region.getType(x, y, z), originalHardness)) {
+                        continue;
+                    }
+                    keys[numKeys++] = BlockKeyUtil.getKey(x, y, z);
+                }
+            }
+        }
 
-        for (Block block : blocks) {
-            Location location = block.getLocation();
-            Material type = block.getType();
+        // The tool's drops are fixed at the time of the swing, whatever happens to the item after
+        ItemStack tool = context.getItem().clone();
 
-            if (location.equals(originalLocation)) {
-                continue;
-            }
-            if (!type.isBlock() || (hasHardnessMethod && (type.getHardness() <= 0.0f || type.getHardness() > originalHardness))) {
-                continue;
-            }
+        long[] blockKeys = Arrays.copyOf(keys, numKeys);
 
-            if (block.getDrops(mainHand.get()).isEmpty()) {
-                continue;
-            }
+        context.addDurability(1);
+        context.defer(() -> AreaBreakScheduler.submit(
+                event.getPlayer(),
+                origin.getWorld(),
+                blockKeys,
+                0,
+                (player, block) -> breakBlock(player, block, tool, originalHardness),
+                (player, count) -> removeToolDurability(player, tool.getType(), count)
+        ));
+    }
 
-            CollectionProvider.getExplosive().add(location);
+    private boolean breakBlock(Player player, Block block, ItemStack tool, float originalHardness) {
+        if (!canBreak(block.getType(), originalHardness)) {
+            return false;
+        }
 
-            BlockBreakEvent e = new BlockBreakEvent(block, event.getPlayer());
-            Bukkit.getPluginManager().callEvent(e);
+        if (block.getDrops(tool).isEmpty()) {
+            return false;
+        }
 
-            CollectionProvider.getExplosive().remove(location);
+        BlockBreakEvent e = new BlockBreakEvent(block, player);
+        SyntheticBreakGuard.enter(SyntheticBreakGuard.Source.EXPLOSIVE);
+        try {
+            Bukkit.getPluginManager().callEvent(e);
+        } finally {
+            SyntheticBreakGuard.exit(SyntheticBreakGuard.Source.EXPLOSIVE);
+        }
 
-            if (!e.isCancelled()) {
-                if (event.getPlayer().getGameMode() != GameMode.CREATIVE) {
-                    block.breakNaturally(mainHand.get());
-                } else {
-                    block.setType(Material.AIR);
-                }
-                blockCount++;
-            }
+        if (e.isCancelled()) {
+            return false;
         }
 
-        if (event.getPlayer().getGameMode() != GameMode.CREATIVE) {
-            if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, blockCount, event.getPlayer().getLocation())) {
-                entityItemHandler.setItemInMainHand(event.getPlayer(), null);
-            }
+        if (player.getGameMode() != GameMode.CREATIVE) {
+            block.breakNaturally(tool);
+        } else {
+            block.setType(Material.AIR);
         }
+        return true;
     }
+
+    private boolean canBreak(Material type, float originalHardness) { return type.isBlock() && (!hasHardnessMethod || (type.getHardness() > 0.0f && type.getHardness() <= originalHardness)); }
 }
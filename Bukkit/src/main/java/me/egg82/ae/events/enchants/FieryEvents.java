@@ -7,8 +7,11 @@ import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.ConfigUtil;
 import me.egg82.ae.utils.EffectUtil;
@@ -28,15 +31,17 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 public class FieryEvents extends EventHolder {
+    private static final int FIERY_PERMISSION = PermissionCache.getNodeId("ae.enchant.fiery");
+
     private final EffectManager effectManager;
 
-    public FieryEvents(Plugin plugin, EffectManager effectManager) {
+    public FieryEvents(Plugin plugin, CombatPipeline combatPipeline, EffectManager effectManager) {
         this.effectManager = effectManager;
 
         events.add(
                 BukkitEvents.subscribe(plugin, EntityShootBowEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), "ae.enchant.fiery"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), FIERY_PERMISSION))
                         .handler(this::shoot)
         );
 
@@ -48,11 +53,12 @@ public class FieryEvents extends EventHolder {
                             .handler(this::hit)
             );
         } catch (ClassNotFoundException ignored) { }
-            events.add(
-                    BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                            .filter(e -> CollectionProvider.getFiery().remove(e.getDamager().getUniqueId()))
-                            .filter(BukkitEventFilters.ignoreCancelled())
-                            .handler(e -> e.getEntity().setFireTicks(50))
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, this::damage);
+        // Not part of the combat pipeline, fiery arrows need to be consumed even when the hit is cancelled
+        events.add(
+                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
+                        .filter(e -> CollectionProvider.getFiery().contains(e.getDamager().getUniqueId()))
+                        .handler(e -> CollectionProvider.getFiery().remove(e.getDamager().getUniqueId()))
         );
     }
 
@@ -109,4 +115,10 @@ public class FieryEvents extends EventHolder {
             hitEntity.get().setFireTicks(50);
         }
     }
+
+    private void damage(CombatContext context, int level) {
+        if (CollectionProvider.getFiery().contains(context.getEvent().getDamager().getUniqueId())) {
+            context.getEvent().getEntity().setFireTicks(50);
+        }
+    }
 }
@@ -1,128 +1,116 @@
 package me.egg82.ae.events.enchants;
 
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.enums.StatusEffect;
+import me.egg82.ae.events.BlockBreakPipeline;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.CollectionProvider;
-import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.utils.PermissionUtil;
+import me.egg82.ae.services.PlayerFlags;
+import me.egg82.ae.services.StatusEffectEngine;
 import ninja.egg82.events.BukkitEventFilters;
 import ninja.egg82.events.BukkitEvents;
-import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.entity.ProjectileLaunchEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
 public class FreezingEvents extends EventHolder {
-    public FreezingEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getDamager() instanceof LivingEntity)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getDamager(), "ae.enchant.freezing"))
-                        .handler(this::damage)
-        );
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.LOW)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getDamager().getUniqueId()))
-                        .handler(e -> e.setCancelled(true))
-        );
+    public FreezingEvents(Plugin plugin, CombatPipeline combatPipeline, BlockBreakPipeline blockBreakPipeline) {
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, AdvancedEnchantment.FREEZING, CombatPipeline.Source.ATTACKER_MAIN_HAND, "ae.enchant.freezing", this::damage);
+        combatPipeline.register(CombatPipeline.Stage.CANCEL, this::frozenDamage);
+        blockBreakPipeline.register(BlockBreakPipeline.Stage.CANCEL, this::frozenBreak);
         events.add(
                 BukkitEvents.subscribe(plugin, PlayerInteractEvent.class, EventPriority.LOW)
+                        .filter(e -> isFrozen(e.getPlayer()))
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getPlayer().getUniqueId()))
                         .handler(e -> e.setCancelled(true))
         );
         events.add(
                 BukkitEvents.subscribe(plugin, ProjectileLaunchEvent.class, EventPriority.LOW)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getEntity().getUniqueId()))
+                        .filter(e -> StatusEffectEngine.has(e.getEntity(), StatusEffect.FREEZING))
                         .handler(e -> e.setCancelled(true))
         );
         events.add(
                 BukkitEvents.subscribe(plugin, EntityShootBowEvent.class, EventPriority.LOW)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getEntity().getUniqueId()))
+                        .filter(e -> StatusEffectEngine.has(e.getEntity(), StatusEffect.FREEZING))
                         .handler(e -> e.setCancelled(true))
         );
         events.add(
                 BukkitEvents.subscribe(plugin, PlayerMoveEvent.class, EventPriority.LOW)
+                        .filter(e -> isFrozen(e.getPlayer()))
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getPlayer().getUniqueId()))
                         .handler(e -> e.setCancelled(true))
         );
         events.add(
                 BukkitEvents.subscribe(plugin, PlayerTeleportEvent.class, EventPriority.LOW)
+                        .filter(e -> isFrozen(e.getPlayer()))
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getPlayer().getUniqueId()))
-                        .handler(e -> e.setCancelled(true))
-        );
-        events.add(
-                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.LOW)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getPlayer().getUniqueId()))
                         .handler(e -> e.setCancelled(true))
         );
         events.add(
                 BukkitEvents.subscribe(plugin, BlockPlaceEvent.class, EventPriority.LOW)
+                        .filter(e -> isFrozen(e.getPlayer()))
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> CollectionProvider.getFreezing().containsKey(e.getPlayer().getUniqueId()))
                         .handler(e -> e.setCancelled(true))
         );
     }
 
-    private void damage(EntityDamageByEntityEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
+    private void damage(CombatContext context, int level) {
+        if (level <= 0) {
             return;
         }
 
-        LivingEntity from = (LivingEntity) event.getDamager();
+        if (Math.random() > 0.05 * level) {
+            return;
+        }
 
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(from);
-        GenericEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
+        if (context.getVictim() != null) {
+            context.getVictim().addPotionEffect(new PotionEffect(PotionEffectType.SLOW, level * 10, level), true);
+        }
 
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.FREEZING, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.FREEZING, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
+        if (Math.random() > 0.08 * level) {
             return;
         }
 
-        if (!hasEnchantment || level <= 0) {
-            return;
+        StatusEffectEngine.put(context.getEvent().getEntity(), StatusEffect.FREEZING, level * (context.getEvent().getFinalDamage() * 0.02), 50L);
+        if (context.getEvent().getEntity() instanceof Player) {
+            PlayerFlags.set((Player) context.getEvent().getEntity(), PlayerFlags.FROZEN, true);
         }
+    }
 
-        if (Math.random() > 0.05 * level) {
-            return;
+    private void frozenDamage(CombatContext context, int level) {
+        if (StatusEffectEngine.has(context.getEvent().getDamager(), StatusEffect.FREEZING)) {
+            context.getEvent().setCancelled(true);
         }
+    }
 
-        if (event.getEntity() instanceof LivingEntity) {
-            ((LivingEntity) event.getEntity()).addPotionEffect(new PotionEffect(PotionEffectType.SLOW, level * 10, level), true);
+    private void frozenBreak(BlockBreakContext context, int level) {
+        if (isFrozen(context.getPlayer())) {
+            context.getEvent().setCancelled(true);
         }
+    }
 
-        if (Math.random() > 0.08 * level) {
-            return;
+    private boolean isFrozen(Player player) {
+        if (!PlayerFlags.has(player, PlayerFlags.FROZEN)) {
+            return false;
         }
 
-        CollectionProvider.getFreezing().put(event.getEntity().getUniqueId(), level * (event.getFinalDamage() * 0.02), 2500L, TimeUnit.MILLISECONDS);
+        // The freeze expires on its own, so the flag is only cleared once it's noticed here
+        if (!StatusEffectEngine.has(player, StatusEffect.FREEZING)) {
+            PlayerFlags.set(player, PlayerFlags.FROZEN, false);
+            return false;
+        }
+        return true;
     }
 }
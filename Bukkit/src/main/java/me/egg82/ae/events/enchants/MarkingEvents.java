@@ -1,13 +1,17 @@
 package me.egg82.ae.events.enchants;
 
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.enums.StatusEffect;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.StatusEffectEngine;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEventFilters;
@@ -21,16 +25,14 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 public class MarkingEvents extends EventHolder {
-    public MarkingEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.LOW)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .handler(this::damageIncrease)
-        );
+    private static final int MARKING_PERMISSION = PermissionCache.getNodeId("ae.enchant.marking");
+
+    public MarkingEvents(Plugin plugin, CombatPipeline combatPipeline) {
+        combatPipeline.register(CombatPipeline.Stage.DAMAGE, this::damageIncrease);
         events.add(
                 BukkitEvents.subscribe(plugin, EntityShootBowEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), "ae.enchant.marking"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), MARKING_PERMISSION))
                         .handler(this::shoot)
         );
         try {
@@ -41,6 +43,7 @@ public class MarkingEvents extends EventHolder {
                             .handler(this::hit)
             );
         } catch (ClassNotFoundException ignored) { }
+        // Not part of the combat pipeline, marking arrows need to be consumed even when the hit is cancelled
         events.add(
                 BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
                         .filter(e -> CollectionProvider.getMarkingArrows().containsKey(e.getDamager().getUniqueId()))
@@ -48,13 +51,12 @@ public class MarkingEvents extends EventHolder {
         );
     }
 
-    private void damageIncrease(EntityDamageByEntityEvent event) {
-        Double d = CollectionProvider.getMarking().get(event.getEntity().getUniqueId());
-        if (d == null) {
+    private void damageIncrease(CombatContext context, int level) {
+        if (!StatusEffectEngine.has(context.getEvent().getEntity(), StatusEffect.MARKING)) {
             return;
         }
 
-        event.setDamage(event.getDamage() * d);
+        context.getEvent().setDamage(context.getEvent().getDamage() * StatusEffectEngine.get(context.getEvent().getEntity(), StatusEffect.MARKING, 1.0d));
     }
 
     private void shoot(EntityShootBowEvent event) {
@@ -88,12 +90,12 @@ public class MarkingEvents extends EventHolder {
 
         if (hitEntity.isPresent()) {
             int level = CollectionProvider.getMarkingArrows().remove(event.getEntity().getUniqueId()) + 1;
-            CollectionProvider.getMarking().put(hitEntity.get().getUniqueId(), ((double) level) * 0.3333333333333334d, 5000L, TimeUnit.MILLISECONDS);
+            StatusEffectEngine.put(hitEntity.get(), StatusEffect.MARKING, ((double) level) * 0.3333333333333334d, 100L);
         }
     }
 
     private void damageMark(EntityDamageByEntityEvent event) {
         int level = CollectionProvider.getMarkingArrows().remove(event.getDamager().getUniqueId()) + 1;
-        CollectionProvider.getMarking().put(event.getEntity().getUniqueId(), ((double) level) * 0.3333333333333334d, 5000L, TimeUnit.MILLISECONDS);
+        StatusEffectEngine.put(event.getEntity(), StatusEffect.MARKING, ((double) level) * 0.3333333333333334d, 100L);
     }
 }
@@ -5,11 +5,16 @@ import java.util.*;
 import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.BlockRegion;
 import me.egg82.ae.core.FakeBlockData;
+import me.egg82.ae.core.LongHashSet;
 import me.egg82.ae.effects.ParticleSplashEffect;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.FakeBlockReverter;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.block.FakeBlockHandler;
 import me.egg82.ae.services.entity.EntityItemHandler;
+import me.egg82.ae.utils.BlockKeyUtil;
 import me.egg82.ae.utils.BlockUtil;
 import me.egg82.ae.utils.ConfigUtil;
 import me.egg82.ae.utils.ItemDurabilityUtil;
@@ -30,18 +35,18 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.util.Vector;
 
 public class MirageEvents extends EventHolder {
-    private final Plugin plugin;
+    private static final int MIRAGE_PERMISSION = PermissionCache.getNodeId("ae.enchant.mirage");
+
     private final EffectManager effectManager;
 
     public MirageEvents(Plugin plugin, EffectManager effectManager) {
-        this.plugin = plugin;
         this.effectManager = effectManager;
 
-        events.add(
+        addWhilePresent(AdvancedEnchantment.MIRAGE, () ->
                 BukkitEvents.subscribe(plugin, PlayerAnimationEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
                         .filter(e -> e.getAnimationType() == PlayerAnimationType.ARM_SWING)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.mirage"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), MIRAGE_PERMISSION))
                         .handler(this::swing)
         );
     }
@@ -69,19 +74,23 @@ public class MirageEvents extends EventHolder {
             return;
         }
 
-        Set<Block> blocks = new HashSet<>();
+        // Rings reach level + 1 blocks out, and the blocks above and below them are read too
+        Location eye = event.getPlayer().getEyeLocation();
+        BlockRegion region = BlockRegion.viewAround(eye.getWorld(), eye.getBlockX(), eye.getBlockY(), eye.getBlockZ(), level + 2, 6, level + 2);
+
+        LongHashSet blocks = new LongHashSet();
         for (int i = 0; i < level; i++) {
-            blocks.addAll(BlockUtil.getHalfCircleAround(event.getPlayer().getEyeLocation(), i + 2, level + 2, 4));
+            BlockUtil.getHalfCircleAround(region, eye, i + 2, level + 2, 4, blocks);
         }
 
-        if (raise(blocks, ConfigUtil.getParticlesOrFalse()) && event.getPlayer().getGameMode() != GameMode.CREATIVE) {
+        if (raise(region, blocks.toArray(), ConfigUtil.getParticlesOrFalse()) && event.getPlayer().getGameMode() != GameMode.CREATIVE) {
             if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, 1, event.getPlayer().getLocation())) {
                 entityItemHandler.setItemInMainHand(event.getPlayer(), null);
             }
         }
     }
 
-    private boolean raise(Set<Block> blocks, boolean particles) {
+    private boolean raise(BlockRegion region, long[] blocks, boolean particles) {
         FakeBlockHandler fakeBlockHandler;
         try {
             fakeBlockHandler = ServiceLocator.get(FakeBlockHandler.class);
@@ -92,37 +101,37 @@ public class MirageEvents extends EventHolder {
 
         boolean raised = false;
 
+        World world = region.getWorld();
         Map<Block, FakeBlockData> fakeBlocks = new HashMap<>();
-        Set<Location> topBlocks = new HashSet<>();
+        LongHashSet topBlocks = new LongHashSet();
 
-        for (Block b : blocks) {
-            Location l = b.getLocation();
+        for (long key : blocks) {
+            int x = BlockKeyUtil.getX(key);
+            int y = BlockKeyUtil.getY(key);
+            int z = BlockKeyUtil.getZ(key);
 
-            Block above = l.clone().add(0.0d, 1.0d, 0.0d).getBlock();
-            if (above.getType().isSolid()) {
+            if (region.getType(x, y + 1, z).isSolid()) {
                 continue;
             }
 
             raised = true;
 
-            Block below = l.clone().add(0.0d, -1.0d, 0.0d).getBlock();
-            Material t = b.getType();
+            Material t = region.getType(x, y, z);
 
-            fakeBlocks.put(above, new FakeBlockData(t, b.getData()));
-            fakeBlocks.put(b, new FakeBlockData(below.getType(), below.getData()));
-            fakeBlocks.put(below, new FakeBlockData(Material.AIR));
+            fakeBlocks.put(world.getBlockAt(x, y + 1, z), new FakeBlockData(t, region.getData(x, y, z)));
+            fakeBlocks.put(world.getBlockAt(x, y, z), new FakeBlockData(region.getType(x, y - 1, z), region.getData(x, y - 1, z)));
+            fakeBlocks.put(world.getBlockAt(x, y - 1, z), new FakeBlockData(Material.AIR));
 
             if (particles) {
-                Location al = above.getLocation();
-                if (t.isSolid() && topBlocks.add(al)) {
+                if (t.isSolid() && topBlocks.add(BlockKeyUtil.getKey(x, y + 1, z))) {
                     ParticleSplashEffect effect = new ParticleSplashEffect(effectManager, Particle.BLOCK_DUST);
                     effect.material = t;
-                    effect.setLocation(al);
+                    effect.setLocation(new Location(world, x, y + 1, z));
                     effect.start();
                 }
             }
 
-            for (Entity e : l.getWorld().getNearbyEntities(l.clone().add(0.5d, 1.0d, 0.5d), 0.5d, 1.0d, 0.5d)) {
+            for (Entity e : world.getNearbyEntities(new Location(world, x + 0.5d, y + 1.0d, z + 0.5d), 0.5d, 1.0d, 0.5d)) {
                 if (!(e instanceof LivingEntity)) {
                     continue;
                 }
@@ -131,7 +140,7 @@ public class MirageEvents extends EventHolder {
         }
 
         fakeBlockHandler.sendFake(fakeBlocks);
-        Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> fakeBlockHandler.sendReal(fakeBlocks.keySet()), 70L);
+        FakeBlockReverter.schedule(fakeBlocks.keySet(), 70L);
 
         return raised;
     }
@@ -6,6 +6,7 @@ import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.ItemDurabilityUtil;
 import me.egg82.ae.utils.LocationUtil;
@@ -26,11 +27,13 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.util.Vector;
 
 public class MultishotEvents extends EventHolder {
+    private static final int MULTISHOT_PERMISSION = PermissionCache.getNodeId("ae.enchant.multishot");
+
     public MultishotEvents(Plugin plugin) {
         events.add(
                 BukkitEvents.subscribe(plugin, EntityShootBowEvent.class, EventPriority.MONITOR)
                         .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), "ae.enchant.multishot"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), MULTISHOT_PERMISSION))
                         .handler(this::shoot)
         );
 
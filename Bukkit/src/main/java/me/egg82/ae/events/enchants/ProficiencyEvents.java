@@ -5,7 +5,10 @@ import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.events.BlockBreakPipeline;
 import me.egg82.ae.events.EventHolder;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEventFilters;
@@ -18,22 +21,19 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 public class ProficiencyEvents extends EventHolder {
-    public ProficiencyEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.LOW)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.proficiency"))
-                        .handler(this::blockBreak)
-        );
-        events.add(
+    private static final int PROFICIENCY_PERMISSION = PermissionCache.getNodeId("ae.enchant.proficiency");
+
+    public ProficiencyEvents(Plugin plugin, BlockBreakPipeline blockBreakPipeline) {
+        blockBreakPipeline.register(BlockBreakPipeline.Stage.EXPERIENCE, AdvancedEnchantment.PROFICIENCY, "ae.enchant.proficiency", this::blockBreak);
+        addWhilePresent(AdvancedEnchantment.PROFICIENCY, () ->
                 BukkitEvents.subscribe(plugin, EntityDeathEvent.class, EventPriority.LOW)
                         .filter(e -> e.getEntity().getKiller() != null)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), "ae.enchant.proficiency"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), PROFICIENCY_PERMISSION))
                         .handler(this::death)
         );
         try {
             Class.forName("org.bukkit.event.player.PlayerFishEvent");
-            events.add(
+            addWhilePresent(AdvancedEnchantment.PROFICIENCY, () ->
                     BukkitEvents.subscribe(plugin, PlayerFishEvent.class, EventPriority.LOW)
                             .filter(BukkitEventFilters.ignoreCancelled())
                             .handler(this::fish)
@@ -41,28 +41,8 @@ public class ProficiencyEvents extends EventHolder {
         } catch (ClassNotFoundException ignored) { }
     }
 
-    private void blockBreak(BlockBreakEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(event.getPlayer());
-        GenericEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.PROFICIENCY, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.PROFICIENCY, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment) {
-            return;
-        }
+    private void blockBreak(BlockBreakContext context, int level) {
+        BlockBreakEvent event = context.getEvent();
 
         double exp = event.getExpToDrop();
         exp += exp - (exp / ((double) level + 1.0d));
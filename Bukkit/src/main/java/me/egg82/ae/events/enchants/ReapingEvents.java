@@ -9,6 +9,7 @@ import me.egg82.ae.api.GenericEnchantableItem;
 import me.egg82.ae.enums.Message;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.PermissionUtil;
 import me.egg82.ae.utils.SoulsUtil;
@@ -19,6 +20,9 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 public class ReapingEvents extends EventHolder {
+    private static final int REAPING_PERMISSION = PermissionCache.getNodeId("ae.enchant.reaping");
+    private static final int VORPAL_PERMISSION = PermissionCache.getNodeId("ae.enchant.vorpal");
+
     private final CommandManager commandManager;
 
     public ReapingEvents(Plugin plugin, CommandManager commandManager) {
@@ -27,8 +31,8 @@ public class ReapingEvents extends EventHolder {
         events.add(
                 BukkitEvents.subscribe(plugin, EntityDeathEvent.class, EventPriority.MONITOR)
                         .filter(e -> e.getEntity().getKiller() != null)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), "ae.enchant.reaping"))
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), "ae.enchant.vorpal"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), REAPING_PERMISSION))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity().getKiller(), VORPAL_PERMISSION))
                         .filter(e -> CollectionProvider.getSouls().add(e.getEntity().getUniqueId())) // Should be the last filter
                         .handler(this::death)
         );
@@ -1,79 +1,51 @@
 package me.egg82.ae.events.enchants;
 
-import java.util.*;
-import me.egg82.ae.APIException;
+import java.util.Collection;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.events.BlockBreakPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.services.material.MaterialLookup;
-import me.egg82.ae.utils.ItemDurabilityUtil;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
+import me.egg82.ae.services.FurnaceRecipeIndex;
 import ninja.egg82.events.BukkitEvents;
-import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.inventory.FurnaceRecipe;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.server.ServerLoadEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.Recipe;
 import org.bukkit.plugin.Plugin;
 
 public class SmeltingEvents extends EventHolder {
-    private static final List<FurnaceRecipe> recipes = new ArrayList<>();
+    public SmeltingEvents(Plugin plugin, BlockBreakPipeline blockBreakPipeline) {
+        blockBreakPipeline.register(BlockBreakPipeline.Stage.DROP_TRANSFORM, AdvancedEnchantment.SMELTING, "ae.enchant.smelting", this::blockBreak);
 
-    private static final Optional<Material> redSand;
-
-    static {
-        redSand = MaterialLookup.get("RED_SAND");
-
-        for (Iterator<Recipe> i = Bukkit.recipeIterator(); i.hasNext();) {
-            Recipe r = i.next();
-            if (r instanceof FurnaceRecipe) {
-                if (redSand.isPresent() && ((FurnaceRecipe) r).getInput().getType() == redSand.get()) {
-                    ((FurnaceRecipe) r).setInput(Material.SAND);
-                }
-                recipes.add((FurnaceRecipe) r);
-            }
-        }
-    }
-
-    public SmeltingEvents(Plugin plugin) {
+        // Other plugins usually add their recipes while enabling
         events.add(
-                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.NORMAL)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getPlayer().getGameMode() != GameMode.CREATIVE)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.smelting"))
-                        .handler(this::blockBreak)
+                BukkitEvents.subscribe(plugin, PluginEnableEvent.class, EventPriority.MONITOR)
+                        .handler(e -> FurnaceRecipeIndex.invalidate())
         );
+        try {
+            Class.forName("org.bukkit.event.server.ServerLoadEvent");
+            events.add(
+                    BukkitEvents.subscribe(plugin, ServerLoadEvent.class, EventPriority.MONITOR)
+                            .handler(e -> FurnaceRecipeIndex.invalidate())
+            );
+        } catch (ClassNotFoundException ignored) { }
+
+        FurnaceRecipeIndex.invalidate();
     }
 
-    private void blockBreak(BlockBreakEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
+    private void blockBreak(BlockBreakContext context, int level) {
+        BlockBreakEvent event = context.getEvent();
 
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(event.getPlayer());
-        Collection<ItemStack> droppedItems = mainHand.isPresent() ? event.getBlock().getDrops(mainHand.get()) : new ArrayList<>();
-        if (droppedItems.isEmpty()) {
+        if (event.getPlayer().getGameMode() == GameMode.CREATIVE) {
             return;
         }
 
-        BukkitEnchantableItem enchantableMainHand = BukkitEnchantableItem.fromItemStack(mainHand.get());
-
-        boolean hasEnchantment;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.SMELTING, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment) {
+        Collection<ItemStack> droppedItems = event.getBlock().getDrops(context.getItem());
+        if (droppedItems.isEmpty()) {
             return;
         }
 
@@ -81,35 +53,15 @@ public class SmeltingEvents extends EventHolder {
         boolean isSmelted = false;
 
         for (ItemStack i : droppedItems) {
-            Material type = i.getType();
-            if (redSand.isPresent() && type == redSand.get()) {
-                type = Material.SAND;
+            ItemStack result = FurnaceRecipeIndex.getResult(i.getType(), i.getDurability());
+            if (result == null) {
+                continue;
             }
 
-            boolean dropped = false;
-
-            for (FurnaceRecipe r : recipes) {
-                if (type != r.getInput().getType()) {
-                    continue;
-                }
-
-                short targetDurability = r.getInput().getDurability();
-                if (targetDurability != Short.MAX_VALUE && targetDurability != Short.MIN_VALUE) {
-                    if (i.getDurability() != targetDurability) {
-                        continue;
-                    }
-                }
-
-                ItemStack result = r.getResult().clone();
-                result.setAmount(i.getAmount());
-                event.getPlayer().getWorld().dropItemNaturally(dropLoc, result);
-                dropped = true;
-                break;
-            }
-
-            if (dropped) {
-                isSmelted = true;
-            }
+            result = result.clone();
+            result.setAmount(i.getAmount());
+            event.getPlayer().getWorld().dropItemNaturally(dropLoc, result);
+            isSmelted = true;
         }
 
         if (isSmelted) {
@@ -117,9 +69,7 @@ public class SmeltingEvents extends EventHolder {
             event.setCancelled(true);
             event.getBlock().setType(Material.AIR, true);
 
-            if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, (isSmelted) ? 2 : 1, event.getPlayer().getLocation())) {
-                entityItemHandler.setItemInMainHand(event.getPlayer(), null);
-            }
+            context.addDurability(2);
         }
     }
 }
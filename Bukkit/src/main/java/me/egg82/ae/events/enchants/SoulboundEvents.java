@@ -8,6 +8,7 @@ import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.api.GenericEnchantableItem;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.events.BukkitEvents;
 import org.bukkit.entity.Player;
@@ -18,10 +19,12 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 public class SoulboundEvents extends EventHolder {
+    private static final int SOULBOUND_PERMISSION = PermissionCache.getNodeId("ae.enchant.soulbound");
+
     public SoulboundEvents(Plugin plugin) {
         events.add(
                 BukkitEvents.subscribe(plugin, EntityDeathEvent.class, EventPriority.LOW)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), "ae.enchant.soulbound"))
+                        .filter(e -> PermissionUtil.canUseEnchant(e.getEntity(), SOULBOUND_PERMISSION))
                         .handler(this::death)
         );
 
@@ -1,62 +1,25 @@
 package me.egg82.ae.events.enchants;
 
-import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.BlockBreakContext;
+import me.egg82.ae.events.BlockBreakPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.entity.EntityItemHandler;
-import me.egg82.ae.utils.ItemDurabilityUtil;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
-import org.bukkit.GameMode;
 import org.bukkit.Material;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
 
 public class StillnessEvents extends EventHolder {
-    public StillnessEvents(Plugin plugin) {
-        events.add(
-                BukkitEvents.subscribe(plugin, BlockBreakEvent.class, EventPriority.LOW)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getPlayer(), "ae.enchant.stillness"))
-                        .handler(this::blockBreak)
-        );
+    public StillnessEvents(BlockBreakPipeline blockBreakPipeline) {
+        blockBreakPipeline.register(BlockBreakPipeline.Stage.DROP_REMOVAL, AdvancedEnchantment.STILLNESS, "ae.enchant.stillness", this::blockBreak);
     }
 
-    private void blockBreak(BlockBreakEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(event.getPlayer());
-        BukkitEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.STILLNESS, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment) {
-            return;
-        }
+    private void blockBreak(BlockBreakContext context, int level) {
+        BlockBreakEvent event = context.getEvent();
 
         // We won't drop blocks with this enchantment to discourage repeated use
         // This enchant does have the potential to break quite a lot, so.. Sparingly.
         event.setCancelled(true);
         event.getBlock().setType(Material.AIR, false);
 
-        if (event.getPlayer().getGameMode() != GameMode.CREATIVE) {
-            if (!ItemDurabilityUtil.removeDurability(event.getPlayer(), enchantableMainHand, 1, event.getPlayer().getLocation())) {
-                entityItemHandler.setItemInMainHand(event.getPlayer(), null);
-            }
-        }
+        context.addDurability(1);
     }
 }
@@ -7,6 +7,7 @@ import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.enums.Message;
 import me.egg82.ae.events.EventHolder;
 import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.utils.ConfigUtil;
 import me.egg82.ae.utils.SoulsUtil;
 import ninja.egg82.events.BukkitEvents;
@@ -18,6 +19,9 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.plugin.Plugin;
 
 public class VacuumEvents extends EventHolder {
+    private static final int VACUUM_PERMISSION = PermissionCache.getNodeId("ae.enchant.vacuum");
+    private static final int VORPAL_PERMISSION = PermissionCache.getNodeId("ae.enchant.vorpal");
+
     private final CommandManager commandManager;
 
     public VacuumEvents(Plugin plugin, CommandManager commandManager) {
@@ -32,7 +36,7 @@ public class VacuumEvents extends EventHolder {
 
     private void death(EntityDeathEvent event) {
         Location deathLocation = event.getEntity().getLocation();
-        List<LivingEntity> withEnchant = getEntitiesWithArmorEnchant(event.getEntity().getWorld(), AdvancedEnchantment.VACUUM, new String[] { "ae.enchant.vacuum", "ae.enchant.vorpal" });
+        List<LivingEntity> withEnchant = getEntitiesWithArmorEnchant(event.getEntity().getWorld(), AdvancedEnchantment.VACUUM, new int[] { VACUUM_PERMISSION, VORPAL_PERMISSION });
         // Sort by distance to death event
         withEnchant.sort(Comparator.comparingDouble(o -> o.getLocation().distanceSquared(deathLocation)));
 
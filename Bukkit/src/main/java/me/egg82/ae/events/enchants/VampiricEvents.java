@@ -3,67 +3,28 @@ package me.egg82.ae.events.enchants;
 import de.slikey.effectlib.EffectManager;
 import de.slikey.effectlib.effect.ArcEffect;
 import de.slikey.effectlib.effect.LoveEffect;
-import java.util.Optional;
-import me.egg82.ae.APIException;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.CombatContext;
+import me.egg82.ae.events.CombatPipeline;
 import me.egg82.ae.events.EventHolder;
-import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.ConfigUtil;
 import me.egg82.ae.utils.EffectUtil;
-import me.egg82.ae.utils.PermissionUtil;
-import ninja.egg82.events.BukkitEventFilters;
-import ninja.egg82.events.BukkitEvents;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
 
 public class VampiricEvents extends EventHolder {
     private final EffectManager effectManager;
 
-    public VampiricEvents(Plugin plugin, EffectManager effectManager) {
+    public VampiricEvents(CombatPipeline combatPipeline, EffectManager effectManager) {
         this.effectManager = effectManager;
 
-        events.add(
-                BukkitEvents.subscribe(plugin, EntityDamageByEntityEvent.class, EventPriority.MONITOR)
-                        .filter(BukkitEventFilters.ignoreCancelled())
-                        .filter(e -> e.getDamager() instanceof LivingEntity)
-                        .filter(e -> PermissionUtil.canUseEnchant(e.getDamager(), "ae.enchant.vampiric"))
-                        .handler(this::damage)
-        );
+        combatPipeline.register(CombatPipeline.Stage.EFFECT, AdvancedEnchantment.VAMPIRIC, CombatPipeline.Source.ATTACKER_MAIN_HAND, "ae.enchant.vampiric", this::damage);
     }
 
-    private void damage(EntityDamageByEntityEvent event) {
-        EntityItemHandler entityItemHandler = getItemHandler();
-        if (entityItemHandler == null) {
-            return;
-        }
-
-        LivingEntity to = (LivingEntity) event.getDamager();
-
-        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(to);
-        GenericEnchantableItem enchantableMainHand = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
-
-        boolean hasEnchantment;
-        int level;
-        try {
-            hasEnchantment = api.anyHasEnchantment(AdvancedEnchantment.VAMPIRIC, enchantableMainHand);
-            level = api.getMaxLevel(AdvancedEnchantment.VAMPIRIC, enchantableMainHand);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
-            return;
-        }
-
-        if (!hasEnchantment) {
-            return;
-        }
-
-        Entity from = event.getEntity();
+    private void damage(CombatContext context, int level) {
+        LivingEntity to = context.getAttacker();
+        Entity from = context.getEvent().getEntity();
 
         if (ConfigUtil.getParticlesOrFalse()) {
             ArcEffect effect = new ArcEffect(effectManager);
@@ -79,7 +40,7 @@ public class VampiricEvents extends EventHolder {
         }
 
         double health = to.getHealth();
-        double damage = Math.max(7.0d, event.getFinalDamage()) / 4.0d;
+        double damage = Math.max(7.0d, context.getEvent().getFinalDamage()) / 4.0d;
         health += damage - (damage / (level + 0.3333333333333334d));
         to.setHealth(Math.min(to.getMaxHealth(), health));
     }
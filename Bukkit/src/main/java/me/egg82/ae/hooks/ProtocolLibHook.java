@@ -17,15 +17,17 @@ import com.comphenix.protocol.wrappers.nbt.NbtCompound;
 import com.comphenix.protocol.wrappers.nbt.NbtFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
-import me.egg82.ae.core.ChunkData;
 import me.egg82.ae.core.FakeBlockData;
-import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.FakeBlockStore;
 import me.egg82.ae.services.block.FakeBlockHandler;
+import me.egg82.ae.services.block.FakeBlockSections;
+import me.egg82.ae.utils.BlockKeyUtil;
 import me.egg82.ae.utils.ConfigUtil;
 import ninja.egg82.events.BukkitEvents;
 import ninja.egg82.service.ServiceLocator;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
@@ -43,6 +45,9 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
 
     private Plugin plugin;
 
+    // Before 1.16.2 a multi block change covers a whole chunk column, after it a single chunk section
+    private final boolean sectionPackets = manager.createPacket(PacketType.Play.Server.MULTI_BLOCK_CHANGE).getChunkCoordIntPairs().size() == 0;
+
     public static void create(Plugin plugin, Plugin plan) {
         if (!plan.isEnabled()) {
             BukkitEvents.subscribe(plugin, PluginEnableEvent.class, EventPriority.MONITOR)
@@ -58,50 +63,73 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
         this.plugin = plugin;
 
         // Fake block events
+        // FakeBlockStore is safe to read from any thread, so the rewriting runs on ProtocolLib's async workers.
+        // The handlers stay registered for the plugin's lifetime, since starting and stopping their workers on
+        // every Mirage swing costs more than passing packets through while nothing is faked
 
-        manager.addPacketListener(new PacketAdapter(plugin, ListenerPriority.HIGH, PacketType.Play.Server.BLOCK_CHANGE) {
+        asyncManager.registerAsyncHandler(new PacketAdapter(plugin, ListenerPriority.HIGH, PacketType.Play.Server.BLOCK_CHANGE) {
             public void onPacketSending(PacketEvent event) {
-                if (event.isCancelled()) {
+                if (event.isCancelled() || FakeBlockStore.isEmpty()) {
                     return;
                 }
 
                 WrapperPlayServerBlockChange packet = new WrapperPlayServerBlockChange(event.getPacket());
 
-                Location location = packet.getBukkitLocation(event.getPlayer().getWorld());
+                BlockPosition position = packet.getLocation();
+                FakeBlockData fakeData = FakeBlockStore.get(event.getPlayer().getWorld(), position.getX(), position.getY(), position.getZ());
+                if (fakeData == null) {
+                    return;
+                }
+
                 WrappedBlockData data = packet.getBlockData();
-                FakeBlockData sentData = new FakeBlockData(data.getType(), (byte) data.getData());
-                FakeBlockData fakeData = CollectionProvider.getFakeBlocks().get(location);
-                if (fakeData != null && !fakeData.equals(sentData)) {
+                if (fakeData.getType() != data.getType() || fakeData.getData() != (byte) data.getData()) {
                     if (ConfigUtil.getDebugOrFalse()) {
-                        logger.info("Replacing block packet with fake data at " + location);
+                        logger.info("Replacing block packet with fake data at " + position);
                     }
                     packet.setBlockData(WrappedBlockData.createData(fakeData.getType(), fakeData.getData()));
                 }
             }
-        });
+        }).start();
 
-        manager.addPacketListener(new PacketAdapter(plugin, ListenerPriority.HIGH, PacketType.Play.Server.MULTI_BLOCK_CHANGE) {
+        asyncManager.registerAsyncHandler(new PacketAdapter(plugin, ListenerPriority.HIGH, PacketType.Play.Server.MULTI_BLOCK_CHANGE) {
             public void onPacketSending(PacketEvent event) {
-                if (event.isCancelled()) {
+                if (event.isCancelled() || FakeBlockStore.isEmpty()) {
                     return;
                 }
 
                 WrapperPlayServerMultiBlockChange packet = new WrapperPlayServerMultiBlockChange(event.getPacket());
 
-                for (MultiBlockChangeInfo record : packet.getRecords()) {
-                    Location location = record.getLocation(event.getPlayer().getWorld());
+                World world = event.getPlayer().getWorld();
+                ChunkCoordIntPair chunk = packet.getChunk();
+                if (!FakeBlockStore.hasChunk(world, chunk.getChunkX(), chunk.getChunkZ())) {
+                    return;
+                }
+
+                MultiBlockChangeInfo[] records = packet.getRecords();
+                boolean changed = false;
+
+                for (MultiBlockChangeInfo record : records) {
+                    FakeBlockData fakeData = FakeBlockStore.get(world, record.getAbsoluteX(), record.getY(), record.getAbsoluteZ());
+                    if (fakeData == null) {
+                        continue;
+                    }
+
                     WrappedBlockData data = record.getData();
-                    FakeBlockData sentData = new FakeBlockData(data.getType(), (byte) data.getData());
-                    FakeBlockData fakeData = CollectionProvider.getFakeBlocks().get(location);
-                    if (fakeData != null && !fakeData.equals(sentData)) {
+                    if (fakeData.getType() != data.getType() || fakeData.getData() != (byte) data.getData()) {
                         if (ConfigUtil.getDebugOrFalse()) {
-                            logger.info("Replacing block packet with fake data at " + location);
+                            logger.info("Replacing block packet with fake data at " + record.getAbsoluteX() + ", " + record.getY() + ", " + record.getAbsoluteZ());
                         }
                         record.setData(WrappedBlockData.createData(fakeData.getType(), fakeData.getData()));
+                        changed = true;
                     }
                 }
+
+                if (changed) {
+                    // The records are copies, so they need writing back
+                    packet.setRecords(records);
+                }
             }
-        });
+        }).start();
     }
 
     public static void setGlowing(ItemStack item) {
@@ -144,7 +172,7 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
             throw new IllegalArgumentException("newBlockData cannot be null.");
         }
 
-        CollectionProvider.getFakeBlocks().put(block.getLocation(), newBlockData);
+        FakeBlockStore.putAll(block.getWorld(), new long[] { BlockKeyUtil.getKey(block.getX(), block.getY(), block.getZ()) }, new FakeBlockData[] { newBlockData });
         sendSingle(block.getLocation(), newBlockData);
     }
 
@@ -153,7 +181,7 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
             throw new IllegalArgumentException("block cannot be null.");
         }
 
-        CollectionProvider.getFakeBlocks().remove(block.getLocation());
+        FakeBlockStore.removeAll(block.getWorld(), new long[] { BlockKeyUtil.getKey(block.getX(), block.getY(), block.getZ()) });
         sendSingle(block.getLocation(), new FakeBlockData(block.getType(), block.getData()));
     }
 
@@ -165,10 +193,9 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
         Map<Location, FakeBlockData> addedBlocks = new HashMap<>();
 
         for (Map.Entry<Block, FakeBlockData> kvp : blocks.entrySet()) {
-            Location l = kvp.getKey().getLocation();
-            addedBlocks.put(l, kvp.getValue());
-            CollectionProvider.getFakeBlocks().put(l, kvp.getValue());
+            addedBlocks.put(kvp.getKey().getLocation(), kvp.getValue());
         }
+        FakeBlockStore.putAll(addedBlocks);
 
         sendMulti(addedBlocks);
     }
@@ -181,10 +208,9 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
         Map<Location, FakeBlockData> removedBlocks = new HashMap<>();
 
         for (Block block : blocks) {
-            Location l = block.getLocation();
-            removedBlocks.put(l, new FakeBlockData(block.getType(), block.getData()));
-            CollectionProvider.getFakeBlocks().remove(l);
+            removedBlocks.put(block.getLocation(), new FakeBlockData(block.getType(), block.getData()));
         }
+        FakeBlockStore.removeAll(removedBlocks.keySet());
 
         sendMulti(removedBlocks);
     }
@@ -192,11 +218,15 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
     public void removeAll() {
         Map<Location, FakeBlockData> removedBlocks = new HashMap<>();
 
-        for (Map.Entry<Location, FakeBlockData> kvp : CollectionProvider.getFakeBlocks().entrySet()) {
-            Block b = kvp.getKey().getBlock();
-            removedBlocks.put(kvp.getKey(), new FakeBlockData(b.getType(), b.getData()));
-            CollectionProvider.getFakeBlocks().remove(kvp.getKey());
-        }
+        FakeBlockStore.forEach((uuid, key, data) -> {
+            World world = Bukkit.getWorld(uuid);
+            if (world == null) {
+                return;
+            }
+            Block b = world.getBlockAt(BlockKeyUtil.getX(key), BlockKeyUtil.getY(key), BlockKeyUtil.getZ(key));
+            removedBlocks.put(b.getLocation(), new FakeBlockData(b.getType(), b.getData()));
+        });
+        FakeBlockStore.clear();
 
         sendMulti(removedBlocks);
     }
@@ -206,38 +236,37 @@ public class ProtocolLibHook implements PluginHook, FakeBlockHandler {
         packet.setLocation(new BlockPosition(blockLocation.getBlockX(), blockLocation.getBlockY(), blockLocation.getBlockZ()));
         packet.setBlockData(WrappedBlockData.createData(newBlockData.getType(), newBlockData.getData()));
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld().equals(blockLocation.getWorld())) {
-                try {
-                    manager.sendServerPacket(player, packet.getHandle());
-                } catch (InvocationTargetException ex) {
-                    logger.error(ex.getMessage(), ex);
-                }
+        for (Player player : FakeBlockSections.getViewers(blockLocation.getWorld(), blockLocation.getBlockX() >> 4, blockLocation.getBlockZ() >> 4)) {
+            try {
+                manager.sendServerPacket(player, packet.getHandle());
+            } catch (InvocationTargetException ex) {
+                logger.error(ex.getMessage(), ex);
             }
         }
     }
 
     private void sendMulti(Map<Location, FakeBlockData> blocks) {
-        Map<ChunkData, List<MultiBlockChangeInfo>> chunkInfo = new HashMap<>();
+        for (FakeBlockSections.Section section : FakeBlockSections.group(blocks, sectionPackets)) {
+            List<Player> viewers = FakeBlockSections.getViewers(section.getWorld(), section.getChunkX(), section.getChunkZ());
+            if (viewers.isEmpty()) {
+                continue;
+            }
 
-        for (Map.Entry<Location, FakeBlockData> kvp : blocks.entrySet()) {
-            ChunkData chunkData = new ChunkData(kvp.getKey().getWorld(), kvp.getKey().getBlockX() >> 4, kvp.getKey().getBlockZ() >> 4);
-            List<MultiBlockChangeInfo> info = chunkInfo.computeIfAbsent(chunkData, k -> new ArrayList<>());
-            info.add(new MultiBlockChangeInfo(kvp.getKey(), WrappedBlockData.createData(kvp.getValue().getType(), kvp.getValue().getData())));
-        }
+            MultiBlockChangeInfo[] records = new MultiBlockChangeInfo[section.size()];
+            for (int i = 0; i < records.length; i++) {
+                FakeBlockData data = section.getData(i);
+                records[i] = new MultiBlockChangeInfo(section.getLocation(i), WrappedBlockData.createData(data.getType(), data.getData()));
+            }
 
-        for (Map.Entry<ChunkData, List<MultiBlockChangeInfo>> kvp : chunkInfo.entrySet()) {
             WrapperPlayServerMultiBlockChange packet = new WrapperPlayServerMultiBlockChange();
-            packet.setChunk(new ChunkCoordIntPair(kvp.getKey().getChunkX(), kvp.getKey().getChunkZ()));
-            packet.setRecords(kvp.getValue().toArray(new MultiBlockChangeInfo[0]));
-
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                if (player.getWorld().equals(kvp.getKey().getWorld())) {
-                    try {
-                        manager.sendServerPacket(player, packet.getHandle());
-                    } catch (InvocationTargetException ex) {
-                        logger.error(ex.getMessage(), ex);
-                    }
+            packet.setChunk(new ChunkCoordIntPair(section.getChunkX(), section.getChunkZ()));
+            packet.setRecords(records);
+
+            for (Player player : viewers) {
+                try {
+                    manager.sendServerPacket(player, packet.getHandle());
+                } catch (InvocationTargetException ex) {
+                    logger.error(ex.getMessage(), ex);
                 }
             }
         }
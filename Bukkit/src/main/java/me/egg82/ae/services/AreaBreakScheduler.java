@@ -0,0 +1,180 @@
+package me.egg82.ae.services;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import me.egg82.ae.utils.BlockKeyUtil;
+import me.egg82.ae.utils.ConfigUtil;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Breaks the extra blocks of area enchants (Explosive, Artisan) over the following ticks.
+ *
+ * Jobs are queued per player, and {@link #tick()} takes one block at a time from each player in
+ * turn until the tick's time or block budget runs out, so one player's big job can't hold up
+ * everyone else's. A job's completion runs after its last block, which is where the tool's
+ * durability is settled. Jobs of players that have gone offline are dropped. Main thread only.
+ */
+public class AreaBreakScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AreaBreakScheduler.class);
+
+    private static final Map<UUID, PlayerJobs> players = new HashMap<>();
+    private static final ArrayDeque<PlayerJobs> rotation = new ArrayDeque<>();
+
+    private AreaBreakScheduler() { }
+
+    /**
+     * Queues the blocks at {@code keys[from..]}, packed with {@link BlockKeyUtil}. The action is
+     * run on each block that's still loaded when its turn comes, and returns true if the block
+     * counts towards the job's total. The completion is given that total.
+     */
+    public static void submit(Player player, World world, long[] keys, int from, Action action, Completion completion) {
+        if (player == null) {
+            throw new IllegalArgumentException("player cannot be null.");
+        }
+        if (world == null) {
+            throw new IllegalArgumentException("world cannot be null.");
+        }
+        if (keys == null) {
+            throw new IllegalArgumentException("keys cannot be null.");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("action cannot be null.");
+        }
+        if (completion == null) {
+            throw new IllegalArgumentException("completion cannot be null.");
+        }
+
+        Job job = new Job(player, world, keys, from, action, completion);
+        if (job.isDone()) {
+            complete(job);
+            return;
+        }
+
+        PlayerJobs jobs = players.get(player.getUniqueId());
+        if (jobs == null) {
+            jobs = new PlayerJobs(player.getUniqueId());
+            players.put(player.getUniqueId(), jobs);
+            rotation.add(jobs);
+        }
+        jobs.queue.add(job);
+    }
+
+    public static boolean isEmpty() { return rotation.isEmpty(); }
+
+    /**
+     * Works through the queued jobs for one tick's budget. At least one block is always broken
+     * if anything is queued, so jobs finish even with a tiny budget.
+     */
+    public static void tick() {
+        if (rotation.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + ConfigUtil.getAreaBreakBudgetOrDefault();
+        int maxBlocks = ConfigUtil.getAreaBreakBlocksOrDefault();
+        int blocks = 0;
+
+        do {
+            PlayerJobs jobs = rotation.poll();
+            Job job = jobs.queue.peek();
+
+            if (!job.player.isOnline()) {
+                players.remove(jobs.uuid);
+                continue;
+            }
+
+            step(job);
+            blocks++;
+
+            if (job.isDone()) {
+                jobs.queue.poll();
+                complete(job);
+            }
+
+            if (jobs.queue.isEmpty()) {
+                players.remove(jobs.uuid);
+            } else {
+                rotation.add(jobs);
+            }
+        } while (!rotation.isEmpty() && (maxBlocks <= 0 || blocks < maxBlocks) && System.nanoTime() < deadline);
+    }
+
+    /**
+     * Drops every queued job without running the rest of its blocks or its completion.
+     */
+    public static void clear() {
+        players.clear();
+        rotation.clear();
+    }
+
+    private static void step(Job job) {
+        long key = job.keys[job.index++];
+        int x = BlockKeyUtil.getX(key);
+        int z = BlockKeyUtil.getZ(key);
+
+        // Don't load chunks back in, the player has moved on from them
+        if (!job.world.isChunkLoaded(x >> 4, z >> 4)) {
+            return;
+        }
+
+        Block block = job.world.getBlockAt(x, BlockKeyUtil.getY(key), z);
+        try {
+            if (job.action.apply(job.player, block)) {
+                job.count++;
+            }
+        } catch (RuntimeException ex) {
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
+    private static void complete(Job job) {
+        try {
+            job.completion.complete(job.player, job.count);
+        } catch (RuntimeException ex) {
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
+    public interface Action {
+        boolean apply(Player player, Block block);
+    }
+
+    public interface Completion {
+        void complete(Player player, int count);
+    }
+
+    private static class PlayerJobs {
+        private final UUID uuid;
+        private final ArrayDeque<Job> queue = new ArrayDeque<>();
+
+        private PlayerJobs(UUID uuid) { this.uuid = uuid; }
+    }
+
+    private static class Job {
+        private final Player player;
+        private final World world;
+        private final long[] keys;
+        private final Action action;
+        private final Completion completion;
+
+        private int index;
+        private int count = 0;
+
+        private Job(Player player, World world, long[] keys, int from, Action action, Completion completion) {
+            this.player = player;
+            this.world = world;
+            this.keys = keys;
+            this.index = from;
+            this.action = action;
+            this.completion = completion;
+        }
+
+        private boolean isDone() { return index >= keys.length; }
+    }
+}
@@ -0,0 +1,172 @@
+package me.egg82.ae.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.core.LoadoutSnapshot;
+import org.bukkit.entity.Player;
+
+/**
+ * Counts, per enchant, how many online players have it somewhere in their loadout.
+ *
+ * Listeners are told when an enchant's count goes from zero to one and back, which
+ * lets holders keep listeners for hot events (movement, arm swings, chat) unsubscribed
+ * while nobody online could trigger them. Main thread only.
+ */
+public class EnchantPresence {
+    private static final Map<UUID, LoadoutSnapshot> tracked = new HashMap<>();
+    private static int[] counts = new int[0];
+    private static List<Listener>[] listeners = newListenerArray(0);
+
+    private EnchantPresence() { }
+
+    /**
+     * Re-reads the player's loadout and updates the counts.
+     */
+    public static void update(Player player) {
+        if (player == null) {
+            return;
+        }
+        if (!player.isOnline()) {
+            remove(player.getUniqueId());
+            return;
+        }
+
+        LoadoutSnapshot loadout = LoadoutCache.get(player);
+        // Flags are cleared on every equipment change, so they're set again even if the loadout didn't change
+        PlayerFlags.setLoadout(player, loadout);
+        LoadoutSnapshot old = tracked.put(player.getUniqueId(), loadout);
+        if (old == loadout) {
+            return;
+        }
+
+        // Increment before decrementing, so an enchant that stays doesn't bounce through zero
+        for (int id = loadout.nextEnchantmentId(0); id >= 0; id = loadout.nextEnchantmentId(id + 1)) {
+            increment(id);
+        }
+        if (old != null) {
+            for (int id = old.nextEnchantmentId(0); id >= 0; id = old.nextEnchantmentId(id + 1)) {
+                decrement(id);
+            }
+        }
+    }
+
+    public static void remove(UUID uuid) {
+        if (uuid == null) {
+            return;
+        }
+
+        LoadoutSnapshot old = tracked.remove(uuid);
+        if (old == null) {
+            return;
+        }
+
+        for (int id = old.nextEnchantmentId(0); id >= 0; id = old.nextEnchantmentId(id + 1)) {
+            decrement(id);
+        }
+    }
+
+    public static int getCount(GenericEnchantment enchantment) {
+        if (enchantment == null) {
+            return 0;
+        }
+        int id = enchantment.getId();
+        return id < counts.length ? counts[id] : 0;
+    }
+
+    public static boolean isPresent(GenericEnchantment enchantment) { return getCount(enchantment) > 0; }
+
+    /**
+     * Adds a listener for the enchant. If the enchant is already present, the listener is told right away.
+     */
+    public static void addListener(GenericEnchantment enchantment, Listener listener) {
+        if (enchantment == null) {
+            throw new IllegalArgumentException("enchantment cannot be null.");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null.");
+        }
+
+        int id = enchantment.getId();
+        ensureCapacity(id + 1);
+        if (listeners[id] == null) {
+            listeners[id] = new ArrayList<>();
+        }
+        listeners[id].add(listener);
+
+        if (counts[id] > 0) {
+            listener.present();
+        }
+    }
+
+    /**
+     * Removes a listener for the enchant. The listener is not told anything.
+     */
+    public static void removeListener(GenericEnchantment enchantment, Listener listener) {
+        if (enchantment == null || listener == null) {
+            return;
+        }
+
+        int id = enchantment.getId();
+        if (id < listeners.length && listeners[id] != null) {
+            listeners[id].remove(listener);
+        }
+    }
+
+    /**
+     * Forgets every tracked player. Listeners are kept, and are not told anything.
+     */
+    public static void clear() {
+        tracked.clear();
+        Arrays.fill(counts, 0);
+    }
+
+    private static void increment(int id) {
+        ensureCapacity(id + 1);
+        if (counts[id]++ == 0 && listeners[id] != null) {
+            for (Listener listener : new ArrayList<>(listeners[id])) {
+                listener.present();
+            }
+        }
+    }
+
+    private static void decrement(int id) {
+        if (id >= counts.length || counts[id] <= 0) {
+            return;
+        }
+        if (--counts[id] == 0 && listeners[id] != null) {
+            for (Listener listener : new ArrayList<>(listeners[id])) {
+                listener.absent();
+            }
+        }
+    }
+
+    private static void ensureCapacity(int capacity) {
+        if (capacity <= counts.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, GenericEnchantment.getRegisteredCount());
+        counts = Arrays.copyOf(counts, newCapacity);
+        listeners = Arrays.copyOf(listeners, newCapacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Listener>[] newListenerArray(int size) { return (List<Listener>[]) new List[size]; }
+
+    public interface Listener {
+        /**
+         * Called when the first online player gains the enchant.
+         */
+        void present();
+
+        /**
+         * Called when the last online player loses the enchant.
+         */
+        void absent();
+    }
+}
@@ -0,0 +1,92 @@
+package me.egg82.ae.services;
+
+import java.util.*;
+import me.egg82.ae.services.block.FakeBlockHandler;
+import ninja.egg82.service.ServiceLocator;
+import ninja.egg82.service.ServiceNotFoundException;
+import org.bukkit.block.Block;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shows the real blocks again after a delay, for fakes that only last a while (Mirage).
+ *
+ * Blocks due on the same tick are reverted together in one call to the handler, however many
+ * swings faked them. Faking a block again pushes its revert back, so an earlier swing can't
+ * revert a newer fake. Main thread only.
+ */
+public class FakeBlockReverter {
+    private static final Logger logger = LoggerFactory.getLogger(FakeBlockReverter.class);
+
+    private static final TreeMap<Long, Set<Block>> due = new TreeMap<>();
+    private static final Map<Block, Long> dueTicks = new HashMap<>();
+    private static long currentTick = 0L;
+
+    private FakeBlockReverter() { }
+
+    public static void schedule(Collection<Block> blocks, long delay) {
+        if (blocks == null) {
+            throw new IllegalArgumentException("blocks cannot be null.");
+        }
+
+        long tick = currentTick + Math.max(1L, delay);
+        for (Block block : blocks) {
+            Long oldTick = dueTicks.put(block, tick);
+            if (oldTick != null && oldTick != tick) {
+                Set<Block> oldBlocks = due.get(oldTick);
+                oldBlocks.remove(block);
+                if (oldBlocks.isEmpty()) {
+                    due.remove(oldTick);
+                }
+            }
+            due.computeIfAbsent(tick, k -> new HashSet<>()).add(block);
+        }
+    }
+
+    public static boolean isEmpty() { return dueTicks.isEmpty(); }
+
+    public static void tick() {
+        currentTick++;
+        if (due.isEmpty() || due.firstKey() > currentTick) {
+            return;
+        }
+
+        Set<Block> blocks = new HashSet<>();
+        while (!due.isEmpty() && due.firstKey() <= currentTick) {
+            blocks.addAll(due.pollFirstEntry().getValue());
+        }
+        revert(blocks);
+    }
+
+    /**
+     * Reverts everything still waiting, without waiting for it to be due.
+     */
+    public static void flush() {
+        Set<Block> blocks = new HashSet<>(dueTicks.keySet());
+        clear();
+        if (!blocks.isEmpty()) {
+            revert(blocks);
+        }
+    }
+
+    public static void clear() {
+        due.clear();
+        dueTicks.clear();
+    }
+
+    private static void revert(Set<Block> blocks) {
+        for (Block block : blocks) {
+            dueTicks.remove(block);
+        }
+
+        FakeBlockHandler fakeBlockHandler;
+        try {
+            fakeBlockHandler = ServiceLocator.get(FakeBlockHandler.class);
+        } catch (InstantiationException | IllegalAccessException | ServiceNotFoundException ex) {
+            logger.error(ex.getMessage(), ex);
+            return;
+        }
+
+        fakeBlockHandler.sendReal(blocks);
+    }
+}
@@ -0,0 +1,307 @@
+package me.egg82.ae.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import me.egg82.ae.core.FakeBlockData;
+import me.egg82.ae.utils.BlockKeyUtil;
+import me.egg82.ae.utils.ChunkKeyUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Fake blocks shown to players (Mirage), indexed by world, chunk section and position.
+ *
+ * Reads come from packet listeners for every block packet the server sends, so they're
+ * lock-free and allocation-free: the current index is an immutable snapshot behind a volatile,
+ * with a quick reject when nothing is faked at all or nothing is faked in the packet's chunk.
+ * Writes are rare (a Mirage swing and its revert), and copy only the world and sections they
+ * touch before publishing a new snapshot. Safe to use from any thread.
+ */
+public class FakeBlockStore {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private static final Object lock = new Object();
+    private static volatile WorldIndex[] worlds = new WorldIndex[0];
+
+    private FakeBlockStore() { }
+
+    public static boolean isEmpty() { return worlds.length == 0; }
+
+    public static boolean hasChunk(World world, int chunkX, int chunkZ) {
+        WorldIndex index = find(worlds, world.getUID());
+        return index != null && index.hasChunk(ChunkKeyUtil.getKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Returns the fake data at the position, or null if the block isn't faked.
+     */
+    public static FakeBlockData get(World world, int x, int y, int z) {
+        WorldIndex index = find(worlds, world.getUID());
+        if (index == null) {
+            return null;
+        }
+
+        FakeBlockData[] section = index.getSection(BlockKeyUtil.getKey(x >> 4, y >> 4, z >> 4));
+        return section != null ? section[getIndex(x, y, z)] : null;
+    }
+
+    /**
+     * Fakes the blocks at the keys, packed with {@link BlockKeyUtil}.
+     */
+    public static void putAll(World world, long[] keys, FakeBlockData[] data) {
+        if (world == null) {
+            throw new IllegalArgumentException("world cannot be null.");
+        }
+        if (keys == null || data == null || keys.length != data.length) {
+            throw new IllegalArgumentException("keys and data must be the same length.");
+        }
+
+        update(world.getUID(), keys, data);
+    }
+
+    /**
+     * Stops faking the blocks at the keys, packed with {@link BlockKeyUtil}.
+     */
+    public static void removeAll(World world, long[] keys) {
+        if (world == null) {
+            throw new IllegalArgumentException("world cannot be null.");
+        }
+        if (keys == null) {
+            throw new IllegalArgumentException("keys cannot be null.");
+        }
+
+        update(world.getUID(), keys, null);
+    }
+
+    public static void putAll(Map<Location, FakeBlockData> blocks) {
+        for (Map.Entry<World, List<Location>> kvp : byWorld(blocks.keySet()).entrySet()) {
+            long[] keys = new long[kvp.getValue().size()];
+            FakeBlockData[] data = new FakeBlockData[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                Location l = kvp.getValue().get(i);
+                keys[i] = BlockKeyUtil.getKey(l.getBlockX(), l.getBlockY(), l.getBlockZ());
+                data[i] = blocks.get(l);
+            }
+            putAll(kvp.getKey(), keys, data);
+        }
+    }
+
+    public static void removeAll(Collection<Location> locations) {
+        for (Map.Entry<World, List<Location>> kvp : byWorld(locations).entrySet()) {
+            long[] keys = new long[kvp.getValue().size()];
+            for (int i = 0; i < keys.length; i++) {
+                Location l = kvp.getValue().get(i);
+                keys[i] = BlockKeyUtil.getKey(l.getBlockX(), l.getBlockY(), l.getBlockZ());
+            }
+            removeAll(kvp.getKey(), keys);
+        }
+    }
+
+    /**
+     * Visits every fake block.
+     */
+    public static void forEach(Visitor visitor) {
+        for (WorldIndex index : worlds) {
+            for (int i = 0; i < index.sectionKeys.length; i++) {
+                if (index.sectionKeys[i] == EMPTY) {
+                    continue;
+                }
+
+                long sectionKey = index.sectionKeys[i];
+                int baseX = BlockKeyUtil.getX(sectionKey) << 4;
+                int baseY = BlockKeyUtil.getY(sectionKey) << 4;
+                int baseZ = BlockKeyUtil.getZ(sectionKey) << 4;
+
+                FakeBlockData[] section = index.sections[i];
+                for (int j = 0; j < section.length; j++) {
+                    if (section[j] != null) {
+                        visitor.visit(index.world, BlockKeyUtil.getKey(baseX + (j & 15), baseY + (j >> 8), baseZ + ((j >> 4) & 15)), section[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    public static void clear() {
+        synchronized (lock) {
+            worlds = new WorldIndex[0];
+        }
+    }
+
+    private static void update(UUID world, long[] keys, FakeBlockData[] data) {
+        if (keys.length == 0) {
+            return;
+        }
+
+        synchronized (lock) {
+            WorldIndex[] current = worlds;
+            WorldIndex old = find(current, world);
+
+            Map<Long, FakeBlockData[]> sections = old != null ? old.toMap() : new HashMap<>();
+            // Published sections are never changed, so each touched section is copied once
+            Map<Long, FakeBlockData[]> copied = new HashMap<>();
+
+            for (int i = 0; i < keys.length; i++) {
+                int x = BlockKeyUtil.getX(keys[i]);
+                int y = BlockKeyUtil.getY(keys[i]);
+                int z = BlockKeyUtil.getZ(keys[i]);
+                long sectionKey = BlockKeyUtil.getKey(x >> 4, y >> 4, z >> 4);
+
+                FakeBlockData[] section = copied.get(sectionKey);
+                if (section == null) {
+                    FakeBlockData[] published = sections.get(sectionKey);
+                    if (published == null && data == null) {
+                        continue;
+                    }
+                    section = published != null ? published.clone() : new FakeBlockData[4096];
+                    copied.put(sectionKey, section);
+                    sections.put(sectionKey, section);
+                }
+
+                section[getIndex(x, y, z)] = data != null ? data[i] : null;
+            }
+
+            if (data == null) {
+                for (Map.Entry<Long, FakeBlockData[]> kvp : copied.entrySet()) {
+                    if (isEmpty(kvp.getValue())) {
+                        sections.remove(kvp.getKey());
+                    }
+                }
+            }
+
+            worlds = replace(current, world, sections.isEmpty() ? null : new WorldIndex(world, sections));
+        }
+    }
+
+    private static Map<World, List<Location>> byWorld(Collection<Location> locations) {
+        Map<World, List<Location>> retVal = new HashMap<>();
+        for (Location l : locations) {
+            retVal.computeIfAbsent(l.getWorld(), k -> new ArrayList<>()).add(l);
+        }
+        return retVal;
+    }
+
+    private static WorldIndex[] replace(WorldIndex[] current, UUID world, WorldIndex index) {
+        for (int i = 0; i < current.length; i++) {
+            if (!current[i].world.equals(world)) {
+                continue;
+            }
+
+            if (index != null) {
+                WorldIndex[] retVal = current.clone();
+                retVal[i] = index;
+                return retVal;
+            }
+
+            WorldIndex[] retVal = new WorldIndex[current.length - 1];
+            System.arraycopy(current, 0, retVal, 0, i);
+            System.arraycopy(current, i + 1, retVal, i, current.length - i - 1);
+            return retVal;
+        }
+
+        if (index == null) {
+            return current;
+        }
+        WorldIndex[] retVal = Arrays.copyOf(current, current.length + 1);
+        retVal[current.length] = index;
+        return retVal;
+    }
+
+    private static WorldIndex find(WorldIndex[] worlds, UUID world) {
+        // There are only ever a handful of worlds
+        for (WorldIndex index : worlds) {
+            if (index.world.equals(world)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(FakeBlockData[] section) {
+        for (FakeBlockData data : section) {
+            if (data != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getIndex(int x, int y, int z) { return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15); }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int getCapacity(int size) {
+        int capacity = 4;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    public interface Visitor {
+        void visit(UUID world, long key, FakeBlockData data);
+    }
+
+    private static class WorldIndex {
+        private final UUID world;
+
+        // Open-addressed tables, EMPTY marks a free slot
+        private final long[] sectionKeys;
+        private final FakeBlockData[][] sections;
+        private final long[] chunkKeys;
+
+        private WorldIndex(UUID world, Map<Long, FakeBlockData[]> sections) {
+            this.world = world;
+
+            sectionKeys = new long[getCapacity(sections.size())];
+            Arrays.fill(sectionKeys, EMPTY);
+            this.sections = new FakeBlockData[sectionKeys.length][];
+            chunkKeys = new long[getCapacity(sections.size())];
+            Arrays.fill(chunkKeys, EMPTY);
+
+            for (Map.Entry<Long, FakeBlockData[]> kvp : sections.entrySet()) {
+                long sectionKey = kvp.getKey();
+                int slot = probe(sectionKeys, sectionKey);
+                sectionKeys[slot] = sectionKey;
+                this.sections[slot] = kvp.getValue();
+
+                long chunkKey = ChunkKeyUtil.getKey(BlockKeyUtil.getX(sectionKey), BlockKeyUtil.getZ(sectionKey));
+                chunkKeys[probe(chunkKeys, chunkKey)] = chunkKey;
+            }
+        }
+
+        private boolean hasChunk(long chunkKey) { return chunkKeys[probe(chunkKeys, chunkKey)] == chunkKey; }
+
+        private FakeBlockData[] getSection(long sectionKey) {
+            int slot = probe(sectionKeys, sectionKey);
+            return sectionKeys[slot] == sectionKey ? sections[slot] : null;
+        }
+
+        private Map<Long, FakeBlockData[]> toMap() {
+            Map<Long, FakeBlockData[]> retVal = new HashMap<>();
+            for (int i = 0; i < sectionKeys.length; i++) {
+                if (sectionKeys[i] != EMPTY) {
+                    retVal.put(sectionKeys[i], sections[i]);
+                }
+            }
+            return retVal;
+        }
+
+        private static int probe(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package me.egg82.ae.services;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import me.egg82.ae.services.material.MaterialLookup;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.FurnaceRecipe;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+
+/**
+ * Furnace results by input type and durability, built from the server's recipes.
+ *
+ * Bukkit doesn't announce new recipes, so the index is rebuilt lazily on the first lookup after
+ * {@link #invalidate()}, which is called on reloads and when plugins enable, and at least every
+ * few minutes to pick up recipes other plugins add later on. Main thread only.
+ */
+public class FurnaceRecipeIndex {
+    private static final long MAX_AGE = 300000L; // 5 minutes
+
+    private static final Optional<Material> redSand = MaterialLookup.get("RED_SAND");
+
+    private static final Map<Material, Results> index = new EnumMap<>(Material.class);
+    private static long builtAt = 0L;
+    private static boolean dirty = true;
+
+    private FurnaceRecipeIndex() { }
+
+    /**
+     * Returns the result of smelting the input, or null if nothing smelts it. The result is
+     * shared, so it must be cloned before it's changed.
+     */
+    public static ItemStack getResult(Material type, short durability) {
+        if (dirty || System.currentTimeMillis() - builtAt >= MAX_AGE) {
+            rebuild();
+        }
+
+        Results results = index.get(normalize(type));
+        if (results == null) {
+            return null;
+        }
+
+        if (results.byDurability != null) {
+            ItemStack result = results.byDurability.get(durability);
+            if (result != null) {
+                return result;
+            }
+        }
+        return results.any;
+    }
+
+    public static void invalidate() { dirty = true; }
+
+    private static void rebuild() {
+        index.clear();
+
+        for (Iterator<Recipe> i = Bukkit.recipeIterator(); i.hasNext();) {
+            Recipe r = i.next();
+            if (!(r instanceof FurnaceRecipe)) {
+                continue;
+            }
+
+            ItemStack input = ((FurnaceRecipe) r).getInput();
+            Results results = index.computeIfAbsent(normalize(input.getType()), k -> new Results());
+            if (results.any != null) {
+                // An earlier recipe already takes every durability, so this one would never be reached
+                continue;
+            }
+
+            short durability = input.getDurability();
+            if (durability == Short.MAX_VALUE || durability == Short.MIN_VALUE) {
+                results.any = r.getResult();
+            } else {
+                if (results.byDurability == null) {
+                    results.byDurability = new HashMap<>();
+                }
+                results.byDurability.putIfAbsent(durability, r.getResult());
+            }
+        }
+
+        builtAt = System.currentTimeMillis();
+        dirty = false;
+    }
+
+    // Red sand smelts the same as sand
+    private static Material normalize(Material type) { return redSand.isPresent() && type == redSand.get() ? Material.SAND : type; }
+
+    private static class Results {
+        private ItemStack any = null;
+        private Map<Short, ItemStack> byDurability = null;
+    }
+}
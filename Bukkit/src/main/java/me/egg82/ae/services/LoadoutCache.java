@@ -0,0 +1,114 @@
+package me.egg82.ae.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.api.GenericEnchantableItem;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.services.entity.EntityItemHandler;
+import ninja.egg82.service.ServiceLocator;
+import ninja.egg82.service.ServiceNotFoundException;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LoadoutCache {
+    private static final Logger logger = LoggerFactory.getLogger(LoadoutCache.class);
+
+    // Equipment-change events invalidate entries directly, the expiry only catches changes made by other plugins
+    private static final Cache<UUID, LoadoutSnapshot> cache = Caffeine.newBuilder().expireAfterWrite(2L, TimeUnit.SECONDS).build();
+    // The last loadout built for each player, for readers off the main thread. Never expires, only replaced
+    private static final ConcurrentMap<UUID, LoadoutSnapshot> published = new ConcurrentHashMap<>();
+
+    private LoadoutCache() { }
+
+    /**
+     * Returns the entity's loadout, building it on a miss. Off the main thread this never builds,
+     * see {@link #getPublished(UUID)}.
+     */
+    public static LoadoutSnapshot get(LivingEntity entity) {
+        if (entity == null) {
+            return LoadoutSnapshot.EMPTY;
+        }
+        if (!Bukkit.isPrimaryThread()) {
+            return getPublished(entity.getUniqueId());
+        }
+
+        return cache.get(entity.getUniqueId(), k -> {
+            LoadoutSnapshot retVal = build(entity);
+            if (entity instanceof Player) {
+                published.put(k, retVal);
+            }
+            return retVal;
+        });
+    }
+
+    /**
+     * Returns the player's loadout as last built on the main thread, or an empty loadout if it
+     * hasn't been built yet. Never touches the player or their items, so it's safe from any thread.
+     * Equipment changes rebuild the loadout on the next tick, so this is at most a tick behind.
+     */
+    public static LoadoutSnapshot getPublished(UUID uuid) {
+        if (uuid == null) {
+            return LoadoutSnapshot.EMPTY;
+        }
+        return published.getOrDefault(uuid, LoadoutSnapshot.EMPTY);
+    }
+
+    public static void invalidate(UUID uuid) {
+        if (uuid == null) {
+            return;
+        }
+        cache.invalidate(uuid);
+    }
+
+    public static void remove(UUID uuid) {
+        if (uuid == null) {
+            return;
+        }
+        cache.invalidate(uuid);
+        published.remove(uuid);
+    }
+
+    public static void invalidateAll() {
+        cache.invalidateAll();
+        published.clear();
+    }
+
+    private static LoadoutSnapshot build(LivingEntity entity) {
+        EntityEquipment equipment = entity.getEquipment();
+        if (equipment == null) {
+            return LoadoutSnapshot.EMPTY;
+        }
+
+        EntityItemHandler entityItemHandler;
+        try {
+            entityItemHandler = ServiceLocator.get(EntityItemHandler.class);
+        } catch (InstantiationException | IllegalAccessException | ServiceNotFoundException ex) {
+            logger.error(ex.getMessage(), ex);
+            return LoadoutSnapshot.EMPTY;
+        }
+
+        GenericEnchantableItem[] items = new GenericEnchantableItem[LoadoutSnapshot.SLOTS];
+        items[LoadoutSnapshot.HELMET] = BukkitEnchantableItem.fromItemStack(equipment.getHelmet());
+        items[LoadoutSnapshot.CHESTPLATE] = BukkitEnchantableItem.fromItemStack(equipment.getChestplate());
+        items[LoadoutSnapshot.LEGGINGS] = BukkitEnchantableItem.fromItemStack(equipment.getLeggings());
+        items[LoadoutSnapshot.BOOTS] = BukkitEnchantableItem.fromItemStack(equipment.getBoots());
+
+        Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(entity);
+        Optional<ItemStack> offHand = entityItemHandler.getItemInOffHand(entity);
+        items[LoadoutSnapshot.MAIN_HAND] = mainHand.isPresent() ? BukkitEnchantableItem.fromItemStack(mainHand.get()) : null;
+        items[LoadoutSnapshot.OFF_HAND] = offHand.isPresent() ? BukkitEnchantableItem.fromItemStack(offHand.get()) : null;
+
+        return new LoadoutSnapshot(items);
+    }
+}
@@ -0,0 +1,160 @@
+package me.egg82.ae.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import me.egg82.ae.core.EnchantPermissionMask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Caches each player's decisions for the enchant and curse permission nodes.
+ *
+ * Call sites resolve their nodes to ids once, through {@link #getNodeId(String)}, and keep them
+ * in static constants. Masks are kept in a small copy-on-write table keyed by the player's
+ * entity id, so a check is a volatile read, an int probe and a bit test. A player's mask is
+ * filled with every known node when they join, and any node checked after that is added to it
+ * on first use. Safe to read from async listeners.
+ */
+public class PermissionCache {
+    private static final List<String> nodes = new CopyOnWriteArrayList<>();
+
+    private static volatile Table table = Table.EMPTY;
+
+    private PermissionCache() { }
+
+    /**
+     * Returns the id for the node, giving it one if it doesn't have one yet.
+     */
+    public static int getNodeId(String node) {
+        if (node == null) {
+            throw new IllegalArgumentException("node cannot be null.");
+        }
+
+        synchronized (nodes) {
+            int id = nodes.indexOf(node);
+            if (id < 0) {
+                nodes.add(node);
+                id = nodes.size() - 1;
+            }
+            return id;
+        }
+    }
+
+    public static boolean hasPermission(Player player, int node) {
+        EnchantPermissionMask mask = table.get(player.getEntityId());
+        if (mask != null && mask.isKnown(node)) {
+            return mask.isGranted(node);
+        }
+
+        boolean value = player.hasPermission(nodes.get(node));
+        synchronized (PermissionCache.class) {
+            EnchantPermissionMask current = table.get(player.getEntityId());
+            table = table.with(player.getEntityId(), (current == null ? EnchantPermissionMask.EMPTY : current).with(node, value));
+        }
+        return value;
+    }
+
+    /**
+     * Rebuilds the player's mask with every node checked so far.
+     */
+    public static void compute(Player player) {
+        EnchantPermissionMask mask = EnchantPermissionMask.EMPTY;
+        for (int i = 0; i < nodes.size(); i++) {
+            mask = mask.with(i, player.hasPermission(nodes.get(i)));
+        }
+        synchronized (PermissionCache.class) {
+            table = table.with(player.getEntityId(), mask);
+        }
+    }
+
+    /**
+     * Rebuilds every online player's mask. Catches permission changes that fire no event.
+     */
+    public static void computeAll() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            compute(player);
+        }
+    }
+
+    public static void invalidate(Player player) {
+        if (player == null) {
+            return;
+        }
+        synchronized (PermissionCache.class) {
+            table = table.without(player.getEntityId());
+        }
+    }
+
+    public static void invalidateAll() {
+        synchronized (PermissionCache.class) {
+            table = Table.EMPTY;
+        }
+    }
+
+    /**
+     * Open-addressed entity id to mask table, kept at most half full. Never changed once published.
+     */
+    private static class Table {
+        private static final Table EMPTY = new Table(new int[16], new EnchantPermissionMask[16], 0);
+
+        private final int[] ids;
+        private final EnchantPermissionMask[] masks;
+        private final int size;
+
+        private Table(int[] ids, EnchantPermissionMask[] masks, int size) {
+            this.ids = ids;
+            this.masks = masks;
+            this.size = size;
+        }
+
+        private EnchantPermissionMask get(int id) {
+            int mask = masks.length - 1;
+            for (int slot = id & mask; masks[slot] != null; slot = (slot + 1) & mask) {
+                if (ids[slot] == id) {
+                    return masks[slot];
+                }
+            }
+            return null;
+        }
+
+        private Table with(int id, EnchantPermissionMask value) {
+            boolean present = get(id) != null;
+            int capacity = masks.length;
+            while ((size + 1) * 2 > capacity) {
+                capacity *= 2;
+            }
+
+            Table retVal = copy(capacity, id);
+            retVal.put(id, value);
+            return new Table(retVal.ids, retVal.masks, present ? size : size + 1);
+        }
+
+        private Table without(int id) {
+            if (get(id) == null) {
+                return this;
+            }
+            Table retVal = copy(masks.length, id);
+            return new Table(retVal.ids, retVal.masks, size - 1);
+        }
+
+        private Table copy(int capacity, int skipId) {
+            Table retVal = new Table(new int[capacity], new EnchantPermissionMask[capacity], 0);
+            for (int i = 0; i < masks.length; i++) {
+                if (masks[i] != null && ids[i] != skipId) {
+                    retVal.put(ids[i], masks[i]);
+                }
+            }
+            return retVal;
+        }
+
+        private void put(int id, EnchantPermissionMask value) {
+            int mask = masks.length - 1;
+            int slot = id & mask;
+            while (masks[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = id;
+            masks[slot] = value;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package me.egg82.ae.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import me.egg82.ae.utils.ChunkKeyUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Item;
+
+/**
+ * Dropped items and exp orbs, bucketed by world and chunk.
+ *
+ * Entities are bucketed by the chunk they were last seen in. Queries move entities that
+ * have drifted into another chunk and drop ones that are gone, and {@link #sweep()} does
+ * the same for buckets nobody has queried. Main thread only.
+ */
+public class PickupIndex {
+    private static final Map<UUID, Map<Long, List<Entity>>> worlds = new HashMap<>();
+    private static final Map<Entity, Long> buckets = new HashMap<>();
+
+    private static final Location scratch = new Location(null, 0.0d, 0.0d, 0.0d);
+    private static final List<Entity> moved = new ArrayList<>();
+
+    private PickupIndex() { }
+
+    public static boolean isIndexed(Entity entity) { return entity instanceof Item || entity instanceof ExperienceOrb; }
+
+    public static void add(Entity entity) {
+        if (!isIndexed(entity) || buckets.containsKey(entity)) {
+            return;
+        }
+
+        entity.getLocation(scratch);
+        long key = ChunkKeyUtil.getKeyForBlock(scratch.getBlockX(), scratch.getBlockZ());
+        getBucket(entity.getWorld().getUID(), key).add(entity);
+        buckets.put(entity, key);
+    }
+
+    public static void remove(Entity entity) {
+        Long key = buckets.remove(entity);
+        if (key == null) {
+            return;
+        }
+
+        Map<Long, List<Entity>> chunks = worlds.get(entity.getWorld().getUID());
+        if (chunks == null) {
+            return;
+        }
+        List<Entity> bucket = chunks.get(key);
+        if (bucket != null) {
+            bucket.remove(entity);
+            if (bucket.isEmpty()) {
+                chunks.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Removes every entity bucketed in the chunk.
+     */
+    public static void removeChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, List<Entity>> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        List<Entity> bucket = chunks.remove(ChunkKeyUtil.getKey(chunkX, chunkZ));
+        if (bucket != null) {
+            for (Entity entity : bucket) {
+                buckets.remove(entity);
+            }
+        }
+    }
+
+    public static void removeWorld(World world) {
+        Map<Long, List<Entity>> chunks = worlds.remove(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        for (List<Entity> bucket : chunks.values()) {
+            for (Entity entity : bucket) {
+                buckets.remove(entity);
+            }
+        }
+    }
+
+    /**
+     * Adds every live indexed entity within the box to {@code into}, which is not cleared first.
+     */
+    public static void getNearby(World world, double x, double y, double z, double xzRadius, double yRadius, List<Entity> into) {
+        Map<Long, List<Entity>> chunks = worlds.get(world.getUID());
+        if (chunks == null || chunks.isEmpty()) {
+            return;
+        }
+
+        int minX = ((int) Math.floor(x - xzRadius)) >> 4;
+        int maxX = ((int) Math.floor(x + xzRadius)) >> 4;
+        int minZ = ((int) Math.floor(z - xzRadius)) >> 4;
+        int maxZ = ((int) Math.floor(z + xzRadius)) >> 4;
+
+        moved.clear();
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                long key = ChunkKeyUtil.getKey(chunkX, chunkZ);
+                List<Entity> bucket = chunks.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+
+                for (int i = bucket.size() - 1; i >= 0; i--) {
+                    Entity entity = bucket.get(i);
+                    // Moved here from a chunk this query already went through, and tested there
+                    if (!moved.isEmpty() && moved.contains(entity)) {
+                        continue;
+                    }
+                    if (!refresh(chunks, bucket, i, key, entity, moved)) {
+                        continue;
+                    }
+
+                    if (
+                            Math.abs(scratch.getX() - x) <= xzRadius
+                            && Math.abs(scratch.getY() - y) <= yRadius
+                            && Math.abs(scratch.getZ() - z) <= xzRadius
+                    ) {
+                        into.add(entity);
+                    }
+                }
+
+                if (bucket.isEmpty()) {
+                    chunks.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-buckets drifted entities and drops dead ones across the whole index.
+     */
+    public static void sweep() {
+        for (Iterator<Map<Long, List<Entity>>> i = worlds.values().iterator(); i.hasNext();) {
+            Map<Long, List<Entity>> chunks = i.next();
+            for (Map.Entry<Long, List<Entity>> kvp : new ArrayList<>(chunks.entrySet())) {
+                List<Entity> bucket = kvp.getValue();
+                for (int j = bucket.size() - 1; j >= 0; j--) {
+                    refresh(chunks, bucket, j, kvp.getKey(), bucket.get(j), null);
+                }
+                if (bucket.isEmpty()) {
+                    chunks.remove(kvp.getKey());
+                }
+            }
+            if (chunks.isEmpty()) {
+                i.remove();
+            }
+        }
+    }
+
+    public static void clear() {
+        worlds.clear();
+        buckets.clear();
+    }
+
+    /**
+     * Checks the entity at {@code index}. Returns true, with its location in {@link #scratch},
+     * if it's alive. A dead entity is removed, and one that drifted into another chunk is moved
+     * to that chunk's bucket and added to {@code into}, if given.
+     */
+    private static boolean refresh(Map<Long, List<Entity>> chunks, List<Entity> bucket, int index, long key, Entity entity, List<Entity> into) {
+        if (!entity.isValid()) {
+            removeAt(bucket, index);
+            buckets.remove(entity);
+            return false;
+        }
+
+        entity.getLocation(scratch);
+        long currentKey = ChunkKeyUtil.getKeyForBlock(scratch.getBlockX(), scratch.getBlockZ());
+        if (currentKey == key) {
+            return true;
+        }
+
+        removeAt(bucket, index);
+        chunks.computeIfAbsent(currentKey, k -> new ArrayList<>()).add(entity);
+        buckets.put(entity, currentKey);
+        if (into != null) {
+            into.add(entity);
+        }
+        return true;
+    }
+
+    private static void removeAt(List<Entity> bucket, int index) {
+        // Order doesn't matter, swap with the last element instead of shifting
+        int last = bucket.size() - 1;
+        bucket.set(index, bucket.get(last));
+        bucket.remove(last);
+    }
+
+    private static List<Entity> getBucket(UUID world, long key) { return worlds.computeIfAbsent(world, k -> new HashMap<>()).computeIfAbsent(key, k -> new ArrayList<>()); }
+}
@@ -0,0 +1,174 @@
+package me.egg82.ae.services;
+
+import java.util.Arrays;
+import me.egg82.ae.api.AdvancedEnchantment;
+import me.egg82.ae.core.LoadoutSnapshot;
+import org.bukkit.entity.Player;
+
+/**
+ * Per-player state bits for listeners on very frequent events, such as movement.
+ *
+ * Flags are stored in a small open-addressed table keyed by the player's entity id, so a
+ * lookup is an int mask and usually a single array read, with no boxing or UUID hashing.
+ * Every flag also keeps a count of the players that have it, so a listener whose flag
+ * nobody has rejects the event without touching the table. Main thread only.
+ */
+public class PlayerFlags {
+    /**
+     * The player's boots have Trailblazer.
+     */
+    public static final int TRAILBLAZER = 0;
+    /**
+     * The player was frozen by Freezing. May outlive the freeze itself, so it must be confirmed.
+     */
+    public static final int FROZEN = 1;
+
+    private static final int FLAG_COUNT = 2;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // A slot is in use while its flags are non-zero
+    private static int[] ids = new int[INITIAL_CAPACITY];
+    private static int[] flags = new int[INITIAL_CAPACITY];
+    private static int size = 0;
+    private static final int[] counts = new int[FLAG_COUNT];
+
+    private PlayerFlags() { }
+
+    public static boolean has(Player player, int flag) {
+        if (counts[flag] == 0) {
+            return false;
+        }
+
+        int slot = find(player.getEntityId());
+        return slot >= 0 && (flags[slot] & (1 << flag)) != 0;
+    }
+
+    public static boolean anyHas(int flag) { return counts[flag] > 0; }
+
+    public static void set(Player player, int flag, boolean value) {
+        if (player == null) {
+            throw new IllegalArgumentException("player cannot be null.");
+        }
+
+        int id = player.getEntityId();
+        int slot = find(id);
+        if (slot < 0) {
+            if (!value) {
+                return;
+            }
+            slot = allocate(id);
+        }
+
+        int mask = 1 << flag;
+        boolean current = (flags[slot] & mask) != 0;
+        if (current == value) {
+            return;
+        }
+
+        if (value) {
+            flags[slot] |= mask;
+            counts[flag]++;
+        } else {
+            flags[slot] &= ~mask;
+            counts[flag]--;
+            if (flags[slot] == 0) {
+                release(slot);
+            }
+        }
+    }
+
+    /**
+     * Sets the flags that come from the player's equipment.
+     */
+    public static void setLoadout(Player player, LoadoutSnapshot loadout) {
+        set(player, TRAILBLAZER, loadout.hasEnchantment(AdvancedEnchantment.TRAILBLAZER, LoadoutSnapshot.BOOTS));
+    }
+
+    public static void remove(Player player) {
+        if (player == null) {
+            return;
+        }
+
+        int slot = find(player.getEntityId());
+        if (slot < 0) {
+            return;
+        }
+
+        for (int i = 0; i < FLAG_COUNT; i++) {
+            if ((flags[slot] & (1 << i)) != 0) {
+                counts[i]--;
+            }
+        }
+        release(slot);
+    }
+
+    public static void clear() {
+        ids = new int[INITIAL_CAPACITY];
+        flags = new int[INITIAL_CAPACITY];
+        size = 0;
+        Arrays.fill(counts, 0);
+    }
+
+    private static int find(int id) {
+        int mask = flags.length - 1;
+        for (int slot = id & mask; flags[slot] != 0; slot = (slot + 1) & mask) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static int allocate(int id) {
+        // Kept at most half full, so most lookups end on their first slot
+        if ((size + 1) * 2 > flags.length) {
+            resize(flags.length * 2);
+        }
+
+        int mask = flags.length - 1;
+        int slot = id & mask;
+        while (flags[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        ids[slot] = id;
+        size++;
+        return slot;
+    }
+
+    private static void release(int slot) {
+        int mask = flags.length - 1;
+        flags[slot] = 0;
+        size--;
+
+        // Shift later entries of the run back, so lookups never stop early on the hole
+        for (int next = (slot + 1) & mask; flags[next] != 0; next = (next + 1) & mask) {
+            int home = ids[next] & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                ids[slot] = ids[next];
+                flags[slot] = flags[next];
+                flags[next] = 0;
+                slot = next;
+            }
+        }
+    }
+
+    private static void resize(int capacity) {
+        int[] oldIds = ids;
+        int[] oldFlags = flags;
+        ids = new int[capacity];
+        flags = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldFlags.length; i++) {
+            if (oldFlags[i] == 0) {
+                continue;
+            }
+            int slot = oldIds[i] & mask;
+            while (flags[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = oldIds[i];
+            flags[slot] = oldFlags[i];
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package me.egg82.ae.services;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import me.egg82.ae.enums.StatusEffect;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * Timed status effects (bleeding, freezing, etc) on entities, expired by a two-level timing wheel.
+ *
+ * Every entity with at least one effect gets a slot, and each (slot, effect) pair is a cell
+ * whose magnitude and expiry tick live in primitive arrays. Cells are linked into wheel buckets
+ * through index arrays, so setting, resetting and expiring an effect is O(1) and allocation-free.
+ * Time is counted in server ticks, advanced by {@link #tick()}. Slots are found through a small
+ * open-addressed table keyed by entity id, the same way {@link PlayerFlags} does, and each one holds
+ * a weak handle to its entity, so visitors get the entity without a lookup. Players get a new
+ * entity id when they rejoin, so their slots are parked by UUID while they're offline. Main thread only.
+ */
+public class StatusEffectEngine {
+    private static final int EFFECTS = StatusEffect.values().length;
+
+    private static final int INNER_BITS = 8;
+    private static final int INNER_SIZE = 1 << INNER_BITS; // Ticks
+    private static final int INNER_MASK = INNER_SIZE - 1;
+    private static final int OUTER_SIZE = 64; // Spans of INNER_SIZE ticks
+    private static final int OUTER_MASK = OUTER_SIZE - 1;
+
+    private static final int NONE = -1;
+
+    // Entity id to slot, kept at most half full. A table entry is in use while its slot isn't NONE
+    private static int[] tableIds = new int[32];
+    private static int[] tableSlots = new int[32];
+    private static int tableSize = 0;
+
+    // Slots of players who quit, until they join again
+    private static final Map<UUID, Integer> parked = new HashMap<>();
+
+    private static int[] ids = new int[16];
+    private static UUID[] parkedUuids = new UUID[16];
+    @SuppressWarnings("unchecked")
+    private static WeakReference<Entity>[] handles = new WeakReference[16];
+    private static int[] active = new int[16]; // Effect bits per slot
+    private static int freeSlot = NONE; // Free slots are chained through active[]
+    private static int slotCount = 0;
+
+    private static double[] magnitudes = new double[16 * EFFECTS];
+    private static long[] expiries = new long[16 * EFFECTS];
+    private static int[] next = new int[16 * EFFECTS];
+    private static int[] prev = new int[16 * EFFECTS];
+    private static int[] bucketOf = new int[16 * EFFECTS]; // Inner buckets are 0..INNER_SIZE-1, outer buckets follow
+
+    private static final int[] heads = new int[INNER_SIZE + OUTER_SIZE];
+    static {
+        Arrays.fill(tableSlots, NONE);
+        Arrays.fill(heads, NONE);
+        Arrays.fill(bucketOf, NONE);
+    }
+
+    private static final int[] counts = new int[EFFECTS];
+
+    private static long currentTick = 0L;
+
+    private StatusEffectEngine() { }
+
+    /**
+     * Sets the effect, replacing its magnitude and duration if the entity already has it.
+     */
+    public static void put(Entity entity, StatusEffect effect, double magnitude, long durationTicks) {
+        if (entity == null) {
+            throw new IllegalArgumentException("entity cannot be null.");
+        }
+        if (effect == null) {
+            throw new IllegalArgumentException("effect cannot be null.");
+        }
+
+        int slot = getOrAllocate(entity);
+        int cell = slot * EFFECTS + effect.ordinal();
+        int mask = 1 << effect.ordinal();
+
+        if ((active[slot] & mask) != 0) {
+            unlink(cell);
+        } else {
+            active[slot] |= mask;
+            counts[effect.ordinal()]++;
+        }
+
+        magnitudes[cell] = magnitude;
+        expiries[cell] = currentTick + Math.max(1L, durationTicks);
+        link(cell);
+    }
+
+    public static boolean has(Entity entity, StatusEffect effect) {
+        if (counts[effect.ordinal()] == 0) {
+            return false;
+        }
+
+        int slot = find(entity.getEntityId());
+        return slot != NONE && (active[slot] & (1 << effect.ordinal())) != 0;
+    }
+
+    public static double get(Entity entity, StatusEffect effect, double def) {
+        if (counts[effect.ordinal()] == 0) {
+            return def;
+        }
+
+        int slot = find(entity.getEntityId());
+        if (slot == NONE || (active[slot] & (1 << effect.ordinal())) == 0) {
+            return def;
+        }
+        return magnitudes[slot * EFFECTS + effect.ordinal()];
+    }
+
+    public static void remove(Entity entity, StatusEffect effect) {
+        int slot = find(entity.getEntityId());
+        if (slot == NONE || (active[slot] & (1 << effect.ordinal())) == 0) {
+            return;
+        }
+
+        expire(slot, effect.ordinal());
+    }
+
+    public static void removeAll(Entity entity) {
+        int slot = find(entity.getEntityId());
+        if (slot == NONE) {
+            return;
+        }
+
+        for (int i = 0; i < EFFECTS; i++) {
+            if ((active[slot] & (1 << i)) != 0) {
+                expire(slot, i);
+            }
+        }
+    }
+
+    /**
+     * Keeps the player's effects by UUID while they're offline. Their effects keep expiring as usual.
+     */
+    public static void park(Player player) {
+        int slot = find(player.getEntityId());
+        if (slot == NONE) {
+            return;
+        }
+
+        delete(player.getEntityId());
+        handles[slot] = null;
+        parkedUuids[slot] = player.getUniqueId();
+        parked.put(player.getUniqueId(), slot);
+    }
+
+    /**
+     * Gives a player who joined back the effects they had when they quit.
+     */
+    public static void restore(Player player) {
+        Integer slot = parked.remove(player.getUniqueId());
+        if (slot == null) {
+            return;
+        }
+
+        parkedUuids[slot] = null;
+        handles[slot] = new WeakReference<>(player);
+        ids[slot] = player.getEntityId();
+        insert(player.getEntityId(), slot);
+    }
+
+    public static boolean isEmpty() { return tableSize == 0 && parked.isEmpty(); }
+
+    /**
+     * Visits every live entity with the effect. The effect is dropped from entities that have
+     * died, unloaded or been collected. The visitor may remove effects.
+     */
+    public static void forEach(StatusEffect effect, Visitor visitor) {
+        if (counts[effect.ordinal()] == 0) {
+            return;
+        }
+
+        int mask = 1 << effect.ordinal();
+        for (int slot = 0; slot < slotCount; slot++) {
+            // Free and parked slots have no handle
+            if (handles[slot] == null || (active[slot] & mask) == 0) {
+                continue;
+            }
+
+            Entity entity = handles[slot] != null ? handles[slot].get() : null;
+            if (entity == null || !entity.isValid()) {
+                expire(slot, effect.ordinal());
+                continue;
+            }
+            visitor.visit(entity, magnitudes[slot * EFFECTS + effect.ordinal()]);
+        }
+    }
+
+    /**
+     * Advances the wheel by one tick, expiring everything that's due.
+     */
+    public static void tick() {
+        long tick = ++currentTick;
+
+        if ((tick & INNER_MASK) == 0L) {
+            // Move the next span of the outer wheel down into the inner wheel
+            int bucket = INNER_SIZE + (int) ((tick >>> INNER_BITS) & OUTER_MASK);
+            int cell = heads[bucket];
+            heads[bucket] = NONE;
+            while (cell != NONE) {
+                int nextCell = next[cell];
+                bucketOf[cell] = NONE;
+                link(cell);
+                cell = nextCell;
+            }
+        }
+
+        int bucket = (int) (tick & INNER_MASK);
+        int cell = heads[bucket];
+        while (cell != NONE) {
+            int nextCell = next[cell];
+            if (expiries[cell] <= tick) {
+                expire(cell / EFFECTS, cell % EFFECTS);
+            }
+            cell = nextCell;
+        }
+    }
+
+    public static void clear() {
+        tableIds = new int[32];
+        tableSlots = new int[32];
+        Arrays.fill(tableSlots, NONE);
+        tableSize = 0;
+        parked.clear();
+        Arrays.fill(parkedUuids, null);
+        Arrays.fill(handles, null);
+        Arrays.fill(active, 0);
+        freeSlot = NONE;
+        slotCount = 0;
+        Arrays.fill(bucketOf, NONE);
+        Arrays.fill(heads, NONE);
+        Arrays.fill(counts, 0);
+    }
+
+    private static void expire(int slot, int effect) {
+        int cell = slot * EFFECTS + effect;
+        unlink(cell);
+        magnitudes[cell] = 0.0d;
+        active[slot] &= ~(1 << effect);
+        counts[effect]--;
+
+        if (active[slot] == 0) {
+            if (parkedUuids[slot] != null) {
+                parked.remove(parkedUuids[slot]);
+                parkedUuids[slot] = null;
+            } else {
+                delete(ids[slot]);
+            }
+            handles[slot] = null;
+            active[slot] = freeSlot;
+            freeSlot = slot;
+        }
+    }
+
+    private static void link(int cell) {
+        long expiry = expiries[cell];
+        int bucket;
+        if (expiry - currentTick < INNER_SIZE) {
+            bucket = (int) (Math.max(expiry, currentTick) & INNER_MASK);
+        } else {
+            long spans = (expiry >>> INNER_BITS) - (currentTick >>> INNER_BITS);
+            // Anything further out than the outer wheel reaches waits in its last bucket and is re-linked from there
+            long span = spans <= OUTER_SIZE ? expiry >>> INNER_BITS : (currentTick >>> INNER_BITS) + OUTER_SIZE - 1;
+            bucket = INNER_SIZE + (int) (span & OUTER_MASK);
+        }
+
+        bucketOf[cell] = bucket;
+        prev[cell] = NONE;
+        next[cell] = heads[bucket];
+        if (heads[bucket] != NONE) {
+            prev[heads[bucket]] = cell;
+        }
+        heads[bucket] = cell;
+    }
+
+    private static void unlink(int cell) {
+        int bucket = bucketOf[cell];
+        if (bucket == NONE) {
+            return;
+        }
+
+        if (prev[cell] != NONE) {
+            next[prev[cell]] = next[cell];
+        } else {
+            heads[bucket] = next[cell];
+        }
+        if (next[cell] != NONE) {
+            prev[next[cell]] = prev[cell];
+        }
+        bucketOf[cell] = NONE;
+    }
+
+    private static int getOrAllocate(Entity entity) {
+        int slot = find(entity.getEntityId());
+        if (slot != NONE) {
+            return slot;
+        }
+
+        int newSlot;
+        if (freeSlot != NONE) {
+            newSlot = freeSlot;
+            freeSlot = active[newSlot];
+        } else {
+            if (slotCount == ids.length) {
+                grow(slotCount * 2);
+            }
+            newSlot = slotCount++;
+        }
+
+        ids[newSlot] = entity.getEntityId();
+        handles[newSlot] = new WeakReference<>(entity);
+        active[newSlot] = 0;
+        insert(entity.getEntityId(), newSlot);
+        return newSlot;
+    }
+
+    private static int find(int id) {
+        int mask = tableSlots.length - 1;
+        for (int i = id & mask; tableSlots[i] != NONE; i = (i + 1) & mask) {
+            if (tableIds[i] == id) {
+                return tableSlots[i];
+            }
+        }
+        return NONE;
+    }
+
+    private static void insert(int id, int slot) {
+        if ((tableSize + 1) * 2 > tableSlots.length) {
+            resize(tableSlots.length * 2);
+        }
+
+        int mask = tableSlots.length - 1;
+        int i = id & mask;
+        while (tableSlots[i] != NONE) {
+            i = (i + 1) & mask;
+        }
+        tableIds[i] = id;
+        tableSlots[i] = slot;
+        tableSize++;
+    }
+
+    private static void delete(int id) {
+        int mask = tableSlots.length - 1;
+        int i = id & mask;
+        while (tableSlots[i] != NONE && tableIds[i] != id) {
+            i = (i + 1) & mask;
+        }
+        if (tableSlots[i] == NONE) {
+            return;
+        }
+
+        tableSlots[i] = NONE;
+        tableSize--;
+
+        // Shift later entries of the run back, so lookups never stop early on the hole
+        for (int next = (i + 1) & mask; tableSlots[next] != NONE; next = (next + 1) & mask) {
+            int home = tableIds[next] & mask;
+            if (((next - home) & mask) >= ((next - i) & mask)) {
+                tableIds[i] = tableIds[next];
+                tableSlots[i] = tableSlots[next];
+                tableSlots[next] = NONE;
+                i = next;
+            }
+        }
+    }
+
+    private static void resize(int capacity) {
+        int[] oldIds = tableIds;
+        int[] oldSlots = tableSlots;
+        tableIds = new int[capacity];
+        tableSlots = new int[capacity];
+        Arrays.fill(tableSlots, NONE);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] == NONE) {
+                continue;
+            }
+            int j = oldIds[i] & mask;
+            while (tableSlots[j] != NONE) {
+                j = (j + 1) & mask;
+            }
+            tableIds[j] = oldIds[i];
+            tableSlots[j] = oldSlots[i];
+        }
+    }
+
+    private static void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        parkedUuids = Arrays.copyOf(parkedUuids, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+        active = Arrays.copyOf(active, capacity);
+        magnitudes = Arrays.copyOf(magnitudes, capacity * EFFECTS);
+        expiries = Arrays.copyOf(expiries, capacity * EFFECTS);
+        next = Arrays.copyOf(next, capacity * EFFECTS);
+        prev = Arrays.copyOf(prev, capacity * EFFECTS);
+        int oldLength = bucketOf.length;
+        bucketOf = Arrays.copyOf(bucketOf, capacity * EFFECTS);
+        Arrays.fill(bucketOf, oldLength, bucketOf.length, NONE);
+    }
+
+    public interface Visitor {
+        void visit(Entity entity, double magnitude);
+    }
+}
@@ -0,0 +1,28 @@
+package me.egg82.ae.services;
+
+/**
+ * Marks the events that area enchants fire for their extra blocks, so the enchant doesn't expand
+ * its own breaks again.
+ *
+ * Synthetic events are fired and handled synchronously, so a scoped counter per source is enough
+ * to tell them apart from real ones without tracking the blocks involved. Main thread only.
+ */
+public class SyntheticBreakGuard {
+    private static final int[] depths = new int[Source.values().length];
+
+    private SyntheticBreakGuard() { }
+
+    public static boolean isActive(Source source) { return depths[source.ordinal()] > 0; }
+
+    /**
+     * Marks the source as firing events. Must be paired with {@link #exit(Source)} in a finally block.
+     */
+    public static void enter(Source source) { depths[source.ordinal()]++; }
+
+    public static void exit(Source source) { depths[source.ordinal()]--; }
+
+    public enum Source {
+        ARTISAN,
+        EXPLOSIVE
+    }
+}
@@ -4,9 +4,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import me.egg82.ae.core.FakeBlockData;
-import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.services.FakeBlockStore;
+import me.egg82.ae.utils.BlockKeyUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 
@@ -21,7 +23,7 @@ public class FakeBlockHandler_1_8 implements FakeBlockHandler {
             throw new IllegalArgumentException("newBlockData cannot be null.");
         }
 
-        CollectionProvider.getFakeBlocks().put(block.getLocation(), newBlockData);
+        FakeBlockStore.putAll(block.getWorld(), new long[] { BlockKeyUtil.getKey(block.getX(), block.getY(), block.getZ()) }, new FakeBlockData[] { newBlockData });
         sendSingle(block.getLocation(), newBlockData);
     }
 
@@ -30,7 +32,7 @@ public class FakeBlockHandler_1_8 implements FakeBlockHandler {
             throw new IllegalArgumentException("block cannot be null.");
         }
 
-        CollectionProvider.getFakeBlocks().remove(block.getLocation());
+        FakeBlockStore.removeAll(block.getWorld(), new long[] { BlockKeyUtil.getKey(block.getX(), block.getY(), block.getZ()) });
         sendSingle(block.getLocation(), new FakeBlockData(block.getType(), block.getData()));
     }
 
@@ -42,10 +44,9 @@ public class FakeBlockHandler_1_8 implements FakeBlockHandler {
         Map<Location, FakeBlockData> addedBlocks = new HashMap<>();
 
         for (Map.Entry<Block, FakeBlockData> kvp : blocks.entrySet()) {
-            Location l = kvp.getKey().getLocation();
-            addedBlocks.put(l, kvp.getValue());
-            CollectionProvider.getFakeBlocks().put(l, kvp.getValue());
+            addedBlocks.put(kvp.getKey().getLocation(), kvp.getValue());
         }
+        FakeBlockStore.putAll(addedBlocks);
 
         sendMulti(addedBlocks);
     }
@@ -58,10 +59,9 @@ public class FakeBlockHandler_1_8 implements FakeBlockHandler {
         Map<Location, FakeBlockData> removedBlocks = new HashMap<>();
 
         for (Block block : blocks) {
-            Location l = block.getLocation();
-            removedBlocks.put(l, new FakeBlockData(block.getType(), block.getData()));
-            CollectionProvider.getFakeBlocks().remove(l);
+            removedBlocks.put(block.getLocation(), new FakeBlockData(block.getType(), block.getData()));
         }
+        FakeBlockStore.removeAll(removedBlocks.keySet());
 
         sendMulti(removedBlocks);
     }
@@ -69,25 +69,32 @@ public class FakeBlockHandler_1_8 implements FakeBlockHandler {
     public void removeAll() {
         Map<Location, FakeBlockData> removedBlocks = new HashMap<>();
 
-        for (Map.Entry<Location, FakeBlockData> kvp : CollectionProvider.getFakeBlocks().entrySet()) {
-            Block b = kvp.getKey().getBlock();
-            removedBlocks.put(kvp.getKey(), new FakeBlockData(b.getType(), b.getData()));
-            CollectionProvider.getFakeBlocks().remove(kvp.getKey());
-        }
+        FakeBlockStore.forEach((uuid, key, data) -> {
+            World world = Bukkit.getWorld(uuid);
+            if (world == null) {
+                return;
+            }
+            Block b = world.getBlockAt(BlockKeyUtil.getX(key), BlockKeyUtil.getY(key), BlockKeyUtil.getZ(key));
+            removedBlocks.put(b.getLocation(), new FakeBlockData(b.getType(), b.getData()));
+        });
+        FakeBlockStore.clear();
 
         sendMulti(removedBlocks);
     }
 
     private void sendSingle(Location blockLocation, FakeBlockData newBlockData) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
+        for (Player player : FakeBlockSections.getViewers(blockLocation.getWorld(), blockLocation.getBlockX() >> 4, blockLocation.getBlockZ() >> 4)) {
             player.sendBlockChange(blockLocation, newBlockData.getType(), newBlockData.getData());
         }
     }
 
     private void sendMulti(Map<Location, FakeBlockData> blocks) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            for (Map.Entry<Location, FakeBlockData> kvp : blocks.entrySet()) {
-                player.sendBlockChange(kvp.getKey(), kvp.getValue().getType(), kvp.getValue().getData());
+        // Bukkit has no multi block change, so each viewer still gets one packet per block, but only for chunks they can see
+        for (FakeBlockSections.Section section : FakeBlockSections.group(blocks, false)) {
+            for (Player player : FakeBlockSections.getViewers(section.getWorld(), section.getChunkX(), section.getChunkZ())) {
+                for (int i = 0; i < section.size(); i++) {
+                    player.sendBlockChange(section.getLocation(i), section.getData(i).getType(), section.getData(i).getData());
+                }
             }
         }
     }
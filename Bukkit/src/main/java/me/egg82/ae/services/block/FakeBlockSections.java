@@ -0,0 +1,95 @@
+package me.egg82.ae.services.block;
+
+import java.util.*;
+import me.egg82.ae.core.FakeBlockData;
+import me.egg82.ae.utils.BlockKeyUtil;
+import me.egg82.ae.utils.ReflectUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * Splits fake block changes into chunk columns or sections and finds who can see them, so the
+ * handlers send each viewer one batch per group instead of every block to every player in the world.
+ * Main thread only.
+ */
+public class FakeBlockSections {
+    // Paper lets each world have its own view distance
+    private static final boolean hasWorldViewDistance = ReflectUtil.hasMethod("getViewDistance", World.class);
+
+    private FakeBlockSections() { }
+
+    /**
+     * Groups the blocks by chunk section, or by chunk column if {@code sections} is false. Columns
+     * have a chunk Y of -1.
+     */
+    public static Collection<Section> group(Map<Location, FakeBlockData> blocks, boolean sections) {
+        Map<World, Map<Long, Section>> worlds = new HashMap<>();
+
+        for (Map.Entry<Location, FakeBlockData> kvp : blocks.entrySet()) {
+            Location l = kvp.getKey();
+            int chunkX = l.getBlockX() >> 4;
+            int chunkY = sections ? l.getBlockY() >> 4 : -1;
+            int chunkZ = l.getBlockZ() >> 4;
+
+            Section section = worlds.computeIfAbsent(l.getWorld(), k -> new HashMap<>())
+                    .computeIfAbsent(BlockKeyUtil.getKey(chunkX, chunkY, chunkZ), k -> new Section(l.getWorld(), chunkX, chunkY, chunkZ));
+            section.locations.add(l);
+            section.data.add(kvp.getValue());
+        }
+
+        List<Section> retVal = new ArrayList<>();
+        for (Map<Long, Section> group : worlds.values()) {
+            retVal.addAll(group.values());
+        }
+        return retVal;
+    }
+
+    /**
+     * Returns the players in the world close enough to have the chunk loaded.
+     */
+    public static List<Player> getViewers(World world, int chunkX, int chunkZ) {
+        int viewDistance = hasWorldViewDistance ? world.getViewDistance() : Bukkit.getViewDistance();
+
+        List<Player> retVal = new ArrayList<>();
+        for (Player player : world.getPlayers()) {
+            Location l = player.getLocation();
+            if (Math.abs((l.getBlockX() >> 4) - chunkX) <= viewDistance && Math.abs((l.getBlockZ() >> 4) - chunkZ) <= viewDistance) {
+                retVal.add(player);
+            }
+        }
+        return retVal;
+    }
+
+    public static class Section {
+        private final World world;
+        private final int chunkX;
+        private final int chunkY;
+        private final int chunkZ;
+
+        private final List<Location> locations = new ArrayList<>();
+        private final List<FakeBlockData> data = new ArrayList<>();
+
+        private Section(World world, int chunkX, int chunkY, int chunkZ) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.chunkZ = chunkZ;
+        }
+
+        public World getWorld() { return world; }
+
+        public int getChunkX() { return chunkX; }
+
+        public int getChunkY() { return chunkY; }
+
+        public int getChunkZ() { return chunkZ; }
+
+        public int size() { return locations.size(); }
+
+        public Location getLocation(int index) { return locations.get(index); }
+
+        public FakeBlockData getData(int index) { return data.get(index); }
+    }
+}
@@ -0,0 +1,17 @@
+package me.egg82.ae.services.item;
+
+import java.util.Optional;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+public interface ItemDataHandler {
+    /**
+     * Reads the stored data without copying the item's meta where possible. The array
+     * may be the item's own, so it must not be changed.
+     */
+    Optional<byte[]> getData(ItemStack item);
+    Optional<byte[]> getData(ItemMeta meta);
+    boolean setData(ItemMeta meta, byte[] data);
+
+    boolean canStoreData();
+}
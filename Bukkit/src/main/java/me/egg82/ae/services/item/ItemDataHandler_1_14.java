@@ -0,0 +1,93 @@
+package me.egg82.ae.services.item;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ItemDataHandler_1_14 implements ItemDataHandler {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final NamespacedKey key = new NamespacedKey(Bukkit.getPluginManager().getPlugin("AdvancedEnchantments"), "enchants");
+
+    // Where CraftBukkit keeps the persistent data container in the item's NBT
+    private static final String CONTAINER_TAG = "PublicBukkitValues";
+
+    private Class<?> craftItemStackClass = null;
+    private Field handleField = null;
+    private Method getTagMethod = null;
+    private Method getCompoundMethod = null;
+    private Method getByteArrayMethod = null;
+    private volatile boolean rawAvailable;
+
+    public ItemDataHandler_1_14() {
+        // getItemMeta copies the whole meta, so item data is read from the NBT directly where the server allows it
+        try {
+            craftItemStackClass = Class.forName(Bukkit.getServer().getClass().getPackage().getName() + ".inventory.CraftItemStack");
+            handleField = craftItemStackClass.getDeclaredField("handle");
+            handleField.setAccessible(true);
+            getTagMethod = handleField.getType().getMethod("getTag");
+            getCompoundMethod = getTagMethod.getReturnType().getMethod("getCompound", String.class);
+            getByteArrayMethod = getTagMethod.getReturnType().getMethod("getByteArray", String.class);
+            rawAvailable = true;
+        } catch (ClassNotFoundException | NoSuchFieldException | NoSuchMethodException | SecurityException ex) {
+            logger.warn("Could not find raw item data access, falling back to item meta: " + ex.getMessage());
+            rawAvailable = false;
+        }
+    }
+
+    public Optional<byte[]> getData(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return Optional.empty();
+        }
+
+        if (rawAvailable && craftItemStackClass.isInstance(item)) {
+            try {
+                Object handle = handleField.get(item);
+                Object tag = handle != null ? getTagMethod.invoke(handle) : null;
+                if (tag == null) {
+                    return Optional.empty();
+                }
+
+                // Missing compounds and arrays come back empty, never null
+                Object container = getCompoundMethod.invoke(tag, CONTAINER_TAG);
+                byte[] data = (byte[]) getByteArrayMethod.invoke(container, key.toString());
+                return data.length > 0 ? Optional.of(data) : Optional.empty();
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                logger.error(ex.getMessage(), ex);
+                rawAvailable = false;
+            }
+        }
+
+        return getData(item.getItemMeta());
+    }
+
+    public Optional<byte[]> getData(ItemMeta meta) {
+        if (meta == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(meta.getPersistentDataContainer().get(key, PersistentDataType.BYTE_ARRAY));
+    }
+
+    public boolean setData(ItemMeta meta, byte[] data) {
+        if (meta == null) {
+            throw new IllegalArgumentException("meta cannot be null.");
+        }
+
+        if (data == null) {
+            meta.getPersistentDataContainer().remove(key);
+        } else {
+            meta.getPersistentDataContainer().set(key, PersistentDataType.BYTE_ARRAY, data);
+        }
+        return true;
+    }
+
+    public boolean canStoreData() { return true; }
+}
@@ -0,0 +1,17 @@
+package me.egg82.ae.services.item;
+
+import java.util.Optional;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+public class ItemDataHandler_1_8 implements ItemDataHandler {
+    public ItemDataHandler_1_8() { }
+
+    public Optional<byte[]> getData(ItemStack item) { return Optional.empty(); }
+
+    public Optional<byte[]> getData(ItemMeta meta) { return Optional.empty(); }
+
+    public boolean setData(ItemMeta meta, byte[] data) { return false; }
+
+    public boolean canStoreData() { return false; }
+}
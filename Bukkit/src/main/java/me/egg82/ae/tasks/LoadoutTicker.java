@@ -0,0 +1,163 @@
+package me.egg82.ae.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.services.EnchantPresence;
+import me.egg82.ae.services.LoadoutCache;
+import me.egg82.ae.utils.ConfigUtil;
+import org.bukkit.entity.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs every tick, and runs the effects that are due on each online player.
+ *
+ * An effect tied to an enchant is skipped outright while no online player has the enchant.
+ * Without stagger-tasks, every player's loadout is resolved once on the ticks an effect is due,
+ * however many effects are due. With stagger-tasks on, each effect keeps its players bucketed by
+ * UUID over its period, and a tick only walks the bucket that's due, so a 100 tick effect handles
+ * about 1/100th of the players every tick instead of all of them at once.
+ *
+ * Players must be added on join and removed on quit. Main thread only.
+ */
+public class LoadoutTicker implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Function<Player, LoadoutSnapshot> loadouts;
+
+    private final List<Registration> registrations = new ArrayList<>();
+    private Registration[] due = new Registration[0];
+    private final List<Player> players = new ArrayList<>();
+
+    private long tick = 0L;
+
+    public LoadoutTicker() { this(LoadoutCache::get); }
+
+    /**
+     * Resolves loadouts through the given function instead of {@link LoadoutCache}.
+     */
+    public LoadoutTicker(Function<Player, LoadoutSnapshot> loadouts) {
+        if (loadouts == null) {
+            throw new IllegalArgumentException("loadouts cannot be null.");
+        }
+        this.loadouts = loadouts;
+    }
+
+    /**
+     * Registers an effect that runs every {@code period} ticks. If the enchant is null, the effect
+     * always runs, which is needed by effects that undo themselves once the enchant is gone.
+     */
+    public void register(GenericEnchantment enchant, long period, Effect effect) {
+        if (period <= 0L || period > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("period must be positive.");
+        }
+        if (effect == null) {
+            throw new IllegalArgumentException("effect cannot be null.");
+        }
+
+        Registration registration = new Registration(enchant, (int) period, effect);
+        for (Player player : players) {
+            registration.getBucket(player).add(player);
+        }
+        registrations.add(registration);
+        due = new Registration[registrations.size()];
+    }
+
+    public void addPlayer(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("player cannot be null.");
+        }
+        if (players.contains(player)) {
+            return;
+        }
+
+        players.add(player);
+        for (Registration registration : registrations) {
+            registration.getBucket(player).add(player);
+        }
+    }
+
+    public void removePlayer(Player player) {
+        if (player == null || !players.remove(player)) {
+            return;
+        }
+
+        for (Registration registration : registrations) {
+            registration.getBucket(player).remove(player);
+        }
+    }
+
+    public void run() {
+        long current = tick++;
+        boolean stagger = ConfigUtil.getStaggerTasksOrFalse();
+
+        int numDue = 0;
+        for (Registration registration : registrations) {
+            if (!stagger && current % registration.period != 0L) {
+                continue;
+            }
+            if (registration.enchant != null && !EnchantPresence.isPresent(registration.enchant)) {
+                continue;
+            }
+            due[numDue++] = registration;
+        }
+
+        if (numDue == 0) {
+            return;
+        }
+
+        if (stagger) {
+            for (int i = 0; i < numDue; i++) {
+                Registration registration = due[i];
+                for (Player player : registration.buckets[(int) (current % registration.period)]) {
+                    tick(registration, player, loadouts.apply(player));
+                }
+            }
+            return;
+        }
+
+        for (Player player : players) {
+            LoadoutSnapshot loadout = loadouts.apply(player);
+            for (int i = 0; i < numDue; i++) {
+                tick(due[i], player, loadout);
+            }
+        }
+    }
+
+    private void tick(Registration registration, Player player, LoadoutSnapshot loadout) {
+        try {
+            registration.effect.tick(player, loadout);
+        } catch (RuntimeException ex) {
+            logger.error(ex.getMessage(), ex);
+        }
+    }
+
+    public interface Effect {
+        void tick(Player player, LoadoutSnapshot loadout);
+    }
+
+    private static class Registration {
+        private final GenericEnchantment enchant;
+        private final int period;
+        private final Effect effect;
+        // Players by the tick within the period they're due on, which never changes for a player
+        private final List<Player>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Registration(GenericEnchantment enchant, int period, Effect effect) {
+            this.enchant = enchant;
+            this.period = period;
+            this.effect = effect;
+
+            buckets = (List<Player>[]) new List[period];
+            for (int i = 0; i < period; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+        }
+
+        private List<Player> getBucket(Player player) { return buckets[(player.getUniqueId().hashCode() & 0x7FFFFFFF) % period]; }
+    }
+}
@@ -0,0 +1,9 @@
+package me.egg82.ae.tasks;
+
+import me.egg82.ae.services.AreaBreakScheduler;
+
+public class TaskAreaBreak implements Runnable {
+    public TaskAreaBreak() { }
+
+    public void run() { AreaBreakScheduler.tick(); }
+}
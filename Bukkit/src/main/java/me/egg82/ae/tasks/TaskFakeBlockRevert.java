@@ -0,0 +1,9 @@
+package me.egg82.ae.tasks;
+
+import me.egg82.ae.services.FakeBlockReverter;
+
+public class TaskFakeBlockRevert implements Runnable {
+    public TaskFakeBlockRevert() { }
+
+    public void run() { FakeBlockReverter.tick(); }
+}
@@ -1,11 +1,8 @@
 package me.egg82.ae.tasks;
 
-import java.util.Iterator;
-import java.util.Map;
-import java.util.UUID;
-import me.egg82.ae.services.CollectionProvider;
+import me.egg82.ae.enums.StatusEffect;
+import me.egg82.ae.services.StatusEffectEngine;
 import me.egg82.ae.services.entity.EntityDamageHandler;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Damageable;
 import org.bukkit.entity.Entity;
 import org.bukkit.event.entity.EntityDamageEvent;
@@ -13,15 +10,13 @@ import org.bukkit.event.entity.EntityDamageEvent;
 public class TaskFreezing implements Runnable {
     public TaskFreezing() { }
 
-    public void run() {
-        for (Iterator<Map.Entry<UUID, Double>> i = CollectionProvider.getFreezing().entrySet().iterator(); i.hasNext();) {
-            Map.Entry<UUID, Double> kvp = i.next();
-            Entity e = Bukkit.getEntity(kvp.getKey());
-            if (e == null || e.isDead() || !(e instanceof Damageable)) {
-                i.remove();
-                continue;
-            }
-            EntityDamageHandler.damage((Damageable) e, kvp.getValue(), EntityDamageEvent.DamageCause.WITHER);
+    public void run() { StatusEffectEngine.forEach(StatusEffect.FREEZING, this::freeze); }
+
+    private void freeze(Entity e, double damage) {
+        if (!(e instanceof Damageable)) {
+            StatusEffectEngine.remove(e, StatusEffect.FREEZING);
+            return;
         }
+        EntityDamageHandler.damage((Damageable) e, damage, EntityDamageEvent.DamageCause.WITHER);
     }
 }
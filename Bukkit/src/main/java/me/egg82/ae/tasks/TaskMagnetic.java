@@ -1,75 +1,63 @@
 package me.egg82.ae.tasks;
 
-import java.util.Optional;
-import me.egg82.ae.APIException;
-import me.egg82.ae.EnchantAPI;
+import java.util.ArrayList;
+import java.util.List;
 import me.egg82.ae.api.AdvancedEnchantment;
-import me.egg82.ae.api.BukkitEnchantableItem;
-import me.egg82.ae.utils.LocationUtil;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.services.PermissionCache;
+import me.egg82.ae.services.PickupIndex;
 import me.egg82.ae.utils.PermissionUtil;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.ExperienceOrb;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.util.Vector;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-public class TaskMagnetic implements Runnable {
-    private final Logger logger = LoggerFactory.getLogger(getClass());
+public class TaskMagnetic implements LoadoutTicker.Effect {
+    private static final int MAGNETIC_PERMISSION = PermissionCache.getNodeId("ae.enchant.magnetic");
 
-    private EnchantAPI api = EnchantAPI.getInstance();
+    // Only used on the main thread, and setVelocity copies the vector, so these are reused between entities
+    private final List<Entity> nearby = new ArrayList<>();
+    private final Location playerLocation = new Location(null, 0.0d, 0.0d, 0.0d);
+    private final Location entityLocation = new Location(null, 0.0d, 0.0d, 0.0d);
+    private final Vector velocity = new Vector();
 
     public TaskMagnetic() { }
 
-    public void run() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (!PermissionUtil.canUseEnchant(player, "ae.enchant.magnetic")) {
-                continue;
-            }
+    public void tick(Player player, LoadoutSnapshot loadout) {
+        if (!PermissionUtil.canUseEnchant(player, MAGNETIC_PERMISSION)) {
+            return;
+        }
 
-            Optional<EntityEquipment> equipment = Optional.ofNullable(player.getEquipment());
-            if (!equipment.isPresent()) {
-                continue;
-            }
+        int level = loadout.getArmorLevel(AdvancedEnchantment.MAGNETIC);
+        if (level < 0) {
+            return;
+        }
 
-            int level;
-            try {
-                level = api.getMaxLevel(AdvancedEnchantment.MAGNETIC,
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getHelmet()),
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getChestplate()),
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getLeggings()),
-                        BukkitEnchantableItem.fromItemStack(equipment.get().getBoots())
-                        );
-            } catch (APIException ex) {
-                logger.error(ex.getMessage(), ex);
+        player.getLocation(playerLocation);
+        double distance = 2.5d + level;
+        double speed = level * 0.035d;
+
+        nearby.clear();
+        PickupIndex.getNearby(player.getWorld(), playerLocation.getX(), playerLocation.getY(), playerLocation.getZ(), distance, 2.0d, nearby);
+
+        for (Entity e : nearby) {
+            if (e instanceof Item && ((Item) e).getPickupDelay() > 0) {
                 continue;
             }
 
-            if (level < 0) {
+            e.getLocation(entityLocation);
+            double x = playerLocation.getX() - entityLocation.getX();
+            double y = playerLocation.getY() - entityLocation.getY();
+            double z = playerLocation.getZ() - entityLocation.getZ();
+            double length = Math.sqrt(x * x + y * y + z * z);
+            if (length == 0.0d || !Double.isFinite(length)) {
                 continue;
             }
 
-            Location playerLocation = player.getLocation();
-            double distance = 2.5d + level;
-
-            for (Entity e : player.getWorld().getNearbyEntities(player.getLocation(), distance, 2.0d, distance)) {
-                if (e instanceof Item || e instanceof ExperienceOrb) {
-                    if (e instanceof Item) {
-                        if (((Item) e).getPickupDelay() > 0) {
-                            continue;
-                        }
-                    }
-
-                    Vector v = playerLocation.toVector().subtract(e.getLocation().toVector()).normalize().multiply(level * 0.035d);
-                    if (LocationUtil.isFinite(v)) {
-                        e.setVelocity(v);
-                    }
-                }
-            }
+            double scale = speed / length;
+            e.setVelocity(velocity.setX(x * scale).setY(y * scale).setZ(z * scale));
         }
+        nearby.clear();
     }
 }
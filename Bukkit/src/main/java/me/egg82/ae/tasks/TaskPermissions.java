@@ -0,0 +1,10 @@
+package me.egg82.ae.tasks;
+
+import me.egg82.ae.services.PermissionCache;
+
+public class TaskPermissions implements Runnable {
+    public TaskPermissions() { }
+
+    // Catches permission changes made without a recalculation event, such as by older permission plugins
+    public void run() { PermissionCache.computeAll(); }
+}
@@ -0,0 +1,9 @@
+package me.egg82.ae.tasks;
+
+import me.egg82.ae.services.PickupIndex;
+
+public class TaskPickupIndex implements Runnable {
+    public TaskPickupIndex() { }
+
+    public void run() { PickupIndex.sweep(); }
+}
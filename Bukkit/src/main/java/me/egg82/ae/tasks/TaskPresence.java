@@ -0,0 +1,16 @@
+package me.egg82.ae.tasks;
+
+import me.egg82.ae.services.EnchantPresence;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+public class TaskPresence implements Runnable {
+    public TaskPresence() { }
+
+    public void run() {
+        // Catches loadout changes made by other plugins, which don't fire any of the events LoadoutEvents listens to
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            EnchantPresence.update(player);
+        }
+    }
+}
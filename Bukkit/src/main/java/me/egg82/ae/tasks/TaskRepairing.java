@@ -1,26 +1,25 @@
 package me.egg82.ae.tasks;
 
 import java.util.Optional;
-import me.egg82.ae.APIException;
-import me.egg82.ae.EnchantAPI;
 import me.egg82.ae.api.AdvancedEnchantment;
 import me.egg82.ae.api.BukkitEnchantableItem;
+import me.egg82.ae.core.LoadoutSnapshot;
+import me.egg82.ae.services.PermissionCache;
 import me.egg82.ae.services.entity.EntityItemHandler;
 import me.egg82.ae.utils.ItemDurabilityUtil;
 import me.egg82.ae.utils.PermissionUtil;
 import ninja.egg82.service.ServiceLocator;
 import ninja.egg82.service.ServiceNotFoundException;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class TaskRepairing implements Runnable {
-    private final Logger logger = LoggerFactory.getLogger(getClass());
+public class TaskRepairing implements LoadoutTicker.Effect {
+    private static final int REPAIRING_PERMISSION = PermissionCache.getNodeId("ae.enchant.repairing");
 
-    private EnchantAPI api = EnchantAPI.getInstance();
+    private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private EntityItemHandler entityItemHandler;
 
@@ -32,44 +31,31 @@ public class TaskRepairing implements Runnable {
         }
     }
 
-    public void run() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (!PermissionUtil.canUseEnchant(player, "ae.enchant.repairing")) {
-                continue;
-            }
-
-            Optional<EntityEquipment> equipment = Optional.ofNullable(player.getEquipment());
-            if (!equipment.isPresent()) {
-                continue;
-            }
-
-            tryRepair(BukkitEnchantableItem.fromItemStack(equipment.get().getHelmet()));
-            tryRepair(BukkitEnchantableItem.fromItemStack(equipment.get().getChestplate()));
-            tryRepair(BukkitEnchantableItem.fromItemStack(equipment.get().getLeggings()));
-            tryRepair(BukkitEnchantableItem.fromItemStack(equipment.get().getBoots()));
-
-            Optional<ItemStack> mainHand = entityItemHandler.getItemInMainHand(player);
-            if (mainHand.isPresent()) {
-                tryRepair(BukkitEnchantableItem.fromItemStack(mainHand.get()));
-            }
+    public void tick(Player player, LoadoutSnapshot loadout) {
+        if (!PermissionUtil.canUseEnchant(player, REPAIRING_PERMISSION)) {
+            return;
+        }
 
-            Optional<ItemStack> offHand = entityItemHandler.getItemInOffHand(player);
-            if (offHand.isPresent()) {
-                tryRepair(BukkitEnchantableItem.fromItemStack(offHand.get()));
-            }
+        if (!loadout.hasEnchantment(AdvancedEnchantment.REPAIRING)) {
+            return;
         }
-    }
 
-    private void tryRepair(BukkitEnchantableItem item) {
-        int level;
-        try {
-            level = api.getMaxLevel(AdvancedEnchantment.REPAIRING, item);
-        } catch (APIException ex) {
-            logger.error(ex.getMessage(), ex);
+        Optional<EntityEquipment> equipment = Optional.ofNullable(player.getEquipment());
+        if (!equipment.isPresent()) {
             return;
         }
 
-        if (level < 0) {
+        tryRepair(loadout, LoadoutSnapshot.HELMET, equipment.get().getHelmet());
+        tryRepair(loadout, LoadoutSnapshot.CHESTPLATE, equipment.get().getChestplate());
+        tryRepair(loadout, LoadoutSnapshot.LEGGINGS, equipment.get().getLeggings());
+        tryRepair(loadout, LoadoutSnapshot.BOOTS, equipment.get().getBoots());
+        tryRepair(loadout, LoadoutSnapshot.MAIN_HAND, entityItemHandler.getItemInMainHand(player).orElse(null));
+        tryRepair(loadout, LoadoutSnapshot.OFF_HAND, entityItemHandler.getItemInOffHand(player).orElse(null));
+    }
+
+    private void tryRepair(LoadoutSnapshot loadout, int slot, ItemStack item) {
+        int level = loadout.getLevel(AdvancedEnchantment.REPAIRING, slot);
+        if (level < 0 || item == null) {
             return;
         }
 
@@ -77,6 +63,6 @@ public class TaskRepairing implements Runnable {
             return;
         }
 
-        ItemDurabilityUtil.addDurability(item, level);
+        ItemDurabilityUtil.addDurability(BukkitEnchantableItem.fromItemStack(item), level);
     }
 }
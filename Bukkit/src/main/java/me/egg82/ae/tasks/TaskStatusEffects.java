@@ -0,0 +1,9 @@
+package me.egg82.ae.tasks;
+
+import me.egg82.ae.services.StatusEffectEngine;
+
+public class TaskStatusEffects implements Runnable {
+    public TaskStatusEffects() { }
+
+    public void run() { StatusEffectEngine.tick(); }
+}
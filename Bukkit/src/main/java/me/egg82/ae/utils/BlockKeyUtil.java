@@ -0,0 +1,16 @@
+package me.egg82.ae.utils;
+
+/**
+ * Packs block coordinates into a long, 26 bits for x and z and 12 bits for y.
+ */
+public class BlockKeyUtil {
+    private BlockKeyUtil() { }
+
+    public static long getKey(int x, int y, int z) { return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF); }
+
+    public static int getX(long key) { return (int) (key >> 38); }
+
+    public static int getY(long key) { return (int) (key << 52 >> 52); }
+
+    public static int getZ(long key) { return (int) (key << 26 >> 38); }
+}
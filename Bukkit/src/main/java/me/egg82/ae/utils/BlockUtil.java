@@ -1,9 +1,12 @@
 package me.egg82.ae.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import me.egg82.ae.core.BlockRegion;
+import me.egg82.ae.core.LongHashSet;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -97,4 +100,141 @@ public class BlockUtil {
 
         return retVal;
     }
+
+    /**
+     * Same as {@link #getHighestSolidBlock(Location)}, but reads from the region and gives up once
+     * the search is more than {@code maxDistance} blocks from y. Returns the block's y, or
+     * {@link Integer#MIN_VALUE} if it gave up.
+     */
+    public static int getHighestSolidY(BlockRegion region, int x, int y, int z, int maxDistance) {
+        if (region == null) {
+            throw new IllegalArgumentException("region cannot be null.");
+        }
+
+        int currentY = y;
+
+        if (!region.getType(x, currentY, z).isSolid()) {
+            while (currentY > 0 && !region.getType(x, currentY, z).isSolid()) {
+                if (y - --currentY > maxDistance) {
+                    return Integer.MIN_VALUE;
+                }
+            }
+            return currentY;
+        }
+
+        int maxHeight = region.getWorld().getMaxHeight();
+        while (currentY < maxHeight && region.getType(x, currentY, z).isSolid()) {
+            if (++currentY - y > maxDistance + 1) {
+                return Integer.MIN_VALUE;
+            }
+        }
+        return currentY - 1;
+    }
+
+    /**
+     * Same as {@link #getHalfCircleAround(Location, double, int, int)}, but reads from the region
+     * and adds packed block keys to {@code into}.
+     */
+    public static void getHalfCircleAround(BlockRegion region, Location loc, double radius, int numPoints, int maxHeight, LongHashSet into) {
+        double piSlice = Math.PI / numPoints;
+
+        double angle = loc.getYaw();
+
+        while (angle < 0.0d) {
+            angle += 360.0d;
+        }
+        while (angle > 360.0d) {
+            angle -= 360.0d;
+        }
+
+        angle = angle * Math.PI / 180.0d;
+
+        for (int i = 0; i < numPoints; i++) {
+            double newAngle = angle + piSlice * i;
+            int x = (int) Math.floor(loc.getX() + radius * Math.cos(newAngle));
+            int z = (int) Math.floor(loc.getZ() + radius * Math.sin(newAngle));
+            int y = getHighestSolidY(region, x, loc.getBlockY(), z, maxHeight);
+            if (y != Integer.MIN_VALUE && Math.abs(y - loc.getY()) <= maxHeight) {
+                into.add(BlockKeyUtil.getKey(x, y, z));
+            }
+        }
+    }
+
+    /**
+     * Finds the blocks with the same type and data connected to the origin, diagonals included, for
+     * Artisan. Returns packed block keys, the origin's first.
+     *
+     * Walks depth-first with an explicit stack, checking neighbours in the same x, z, y order as the
+     * recursive search it replaced, so it finds exactly the same blocks. That includes the recursion's
+     * quirk: a block first reached by a long path is never searched again from a shorter one.
+     */
+    public static long[] getSimilarBlocks(BlockRegion region, int originX, int originY, int originZ, Material searchType, byte searchData, int depth) {
+        if (region == null) {
+            throw new IllegalArgumentException("region cannot be null.");
+        }
+        if (depth <= 0) {
+            return new long[0];
+        }
+
+        // Only blocks that were searched from go into walked, same as the recursion
+        LongHashSet walked = new LongHashSet(64);
+        long[] found = new long[64];
+        int numFound = 0;
+
+        long origin = BlockKeyUtil.getKey(originX, originY, originZ);
+        walked.add(origin);
+        found[numFound++] = origin;
+        if (depth == 1) {
+            return Arrays.copyOf(found, numFound);
+        }
+
+        // The frame at index i was reached with depth - i, and is only pushed if its neighbours would get more than 0
+        long[] stack = new long[depth];
+        int[] next = new int[depth];
+        int top = 0;
+        stack[0] = origin;
+
+        while (top >= 0) {
+            if (next[top] == 27) {
+                top--;
+                continue;
+            }
+
+            int neighbour = next[top]++;
+            int x = BlockKeyUtil.getX(stack[top]) + neighbour / 9 - 1;
+            int z = BlockKeyUtil.getZ(stack[top]) + neighbour / 3 % 3 - 1;
+            int y = BlockKeyUtil.getY(stack[top]) + neighbour % 3 - 1;
+            // Also keeps the search inside the world's height
+            if (!region.contains(x, y, z)) {
+                continue;
+            }
+
+            long key = BlockKeyUtil.getKey(x, y, z);
+            if (walked.contains(key)) {
+                continue;
+            }
+
+            Material type = region.getType(x, y, z);
+            if (type == Material.AIR || type == Material.BEDROCK || type == Material.BARRIER) {
+                continue;
+            }
+            if (type != searchType || region.getData(x, y, z) != searchData) {
+                continue;
+            }
+
+            walked.add(key);
+            if (numFound == found.length) {
+                found = Arrays.copyOf(found, numFound * 2);
+            }
+            found[numFound++] = key;
+
+            if (depth - top - 2 > 0) {
+                top++;
+                stack[top] = key;
+                next[top] = 0;
+            }
+        }
+
+        return Arrays.copyOf(found, numFound);
+    }
 }
@@ -0,0 +1,13 @@
+package me.egg82.ae.utils;
+
+public class ChunkKeyUtil {
+    private ChunkKeyUtil() { }
+
+    public static long getKey(int chunkX, int chunkZ) { return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL); }
+
+    public static long getKeyForBlock(int blockX, int blockZ) { return getKey(blockX >> 4, blockZ >> 4); }
+
+    public static int getX(long key) { return (int) (key >> 32); }
+
+    public static int getZ(long key) { return (int) key; }
+}
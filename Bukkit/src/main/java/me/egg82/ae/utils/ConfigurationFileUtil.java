@@ -4,6 +4,9 @@ import java.io.*;
 import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import me.egg82.ae.api.BukkitEnchantableItem;
 import me.egg82.ae.extended.CachedConfigValues;
 import me.egg82.ae.extended.Configuration;
 import ninja.egg82.service.ServiceLocator;
@@ -103,6 +106,37 @@ public class ConfigurationFileUtil {
             logger.info(LogUtil.getHeading() + ChatColor.YELLOW + "Skipping loot table modifications.");
         }
 
+        long itemCacheSize = Math.max(0L, config.getNode("cache", "items", "size").getLong(10000L));
+        String itemCacheTimeString = config.getNode("cache", "items", "time").getString("5minutes");
+        Optional<Long> itemCacheTime = TimeUtil.getTime(itemCacheTimeString);
+        Optional<TimeUnit> itemCacheUnit = TimeUtil.getUnit(itemCacheTimeString);
+        if (!itemCacheTime.isPresent() || !itemCacheUnit.isPresent()) {
+            logger.warn("cache.items.time is not a valid time pattern. Using default value.");
+            itemCacheTime = Optional.of(5L);
+            itemCacheUnit = Optional.of(TimeUnit.MINUTES);
+        }
+
+        if (debug) {
+            logger.info(LogUtil.getHeading() + ChatColor.YELLOW + "Item cache: " + ChatColor.WHITE + itemCacheSize + " items, " + itemCacheTime.get() + " " + itemCacheUnit.get().name().toLowerCase());
+        }
+
+        boolean staggerTasks = config.getNode("stagger-tasks").getBoolean(false);
+
+        if (debug) {
+            if (staggerTasks) {
+                logger.info(LogUtil.getHeading() + ChatColor.GREEN + "Staggering repeating enchant effects across players.");
+            } else {
+                logger.info(LogUtil.getHeading() + ChatColor.YELLOW + "Running repeating enchant effects for all players at once.");
+            }
+        }
+
+        double areaBreakBudget = Math.max(0.0d, config.getNode("area-break", "budget").getDouble(2.0d));
+        int areaBreakBlocks = Math.max(0, config.getNode("area-break", "blocks").getInt(64));
+
+        if (debug) {
+            logger.info(LogUtil.getHeading() + ChatColor.YELLOW + "Area break budget: " + ChatColor.WHITE + areaBreakBudget + "ms, " + (areaBreakBlocks > 0 ? areaBreakBlocks + " blocks" : "no block limit") + " per tick");
+        }
+
         CachedConfigValues cachedValues = CachedConfigValues.builder()
                 .debug(debug)
                 .enchantChance(enchantChance)
@@ -110,8 +144,15 @@ public class ConfigurationFileUtil {
                 .particles(particles)
                 .lootEnchantChance(lootEnchantChance)
                 .lootCurseChance(lootCurseChance)
+                .itemCacheSize(itemCacheSize)
+                .itemCacheTime(itemCacheTime.get(), itemCacheUnit.get())
+                .staggerTasks(staggerTasks)
+                .areaBreakBudget((long) (areaBreakBudget * 1000000.0d), TimeUnit.NANOSECONDS)
+                .areaBreakBlocks(areaBreakBlocks)
                 .build();
 
+        BukkitEnchantableItem.setCacheLimits(cachedValues.getItemCacheSize(), cachedValues.getItemCacheTime());
+
         ConfigUtil.setConfiguration(config, cachedValues);
 
         ServiceLocator.register(config);
@@ -0,0 +1,119 @@
+package me.egg82.ae.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import me.egg82.ae.api.AdvancedEnchantment;
+import me.egg82.ae.api.BukkitEnchantment;
+import me.egg82.ae.api.EnchantmentLevels;
+import me.egg82.ae.api.GenericEnchantment;
+import me.egg82.ae.core.EnchantData;
+
+/**
+ * Binary codec for the custom enchants and souls stored on an item.
+ *
+ * Layout: version byte, varint souls, varint count, then count entries of
+ * (varint name length, UTF-8 name, varint level). Enchants are stored by name
+ * because enchant UUIDs are regenerated on every startup.
+ */
+public class EnchantDataUtil {
+    private static final byte VERSION = 1;
+
+    private EnchantDataUtil() { }
+
+    public static byte[] encode(EnchantmentLevels enchantments, int souls) {
+        if (enchantments == null) {
+            throw new IllegalArgumentException("enchantments cannot be null.");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        out.write(VERSION);
+        writeVarInt(out, Math.max(0, souls));
+
+        int count = 0;
+        for (int id = enchantments.nextId(0); id >= 0; id = enchantments.nextId(id + 1)) {
+            if (!(GenericEnchantment.getById(id) instanceof BukkitEnchantment)) {
+                count++;
+            }
+        }
+        writeVarInt(out, count);
+
+        for (int id = enchantments.nextId(0); id >= 0; id = enchantments.nextId(id + 1)) {
+            GenericEnchantment enchantment = GenericEnchantment.getById(id);
+            // Bukkit enchants are already stored by the server
+            if (enchantment instanceof BukkitEnchantment) {
+                continue;
+            }
+
+            byte[] name = enchantment.getName().getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, name.length);
+            out.write(name, 0, name.length);
+            writeVarInt(out, enchantments.get(enchantment));
+        }
+
+        return out.toByteArray();
+    }
+
+    public static Optional<EnchantData> decode(byte[] data) {
+        if (data == null || data.length < 3 || data[0] != VERSION) {
+            return Optional.empty();
+        }
+
+        int[] index = new int[] { 1 };
+
+        int souls = readVarInt(data, index);
+        int count = readVarInt(data, index);
+        if (souls < 0 || count < 0) {
+            return Optional.empty();
+        }
+
+        Map<GenericEnchantment, Integer> enchantments = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int length = readVarInt(data, index);
+            if (length < 0 || index[0] + length > data.length) {
+                return Optional.empty();
+            }
+            String name = new String(data, index[0], length, StandardCharsets.UTF_8);
+            index[0] += length;
+
+            int level = readVarInt(data, index);
+            if (level < 0) {
+                return Optional.empty();
+            }
+
+            // Enchants that no longer exist are silently dropped
+            Optional<AdvancedEnchantment> enchant = AdvancedEnchantment.getByName(name);
+            if (enchant.isPresent()) {
+                enchantments.put(enchant.get(), level);
+            }
+        }
+
+        return Optional.of(new EnchantData(enchantments, souls));
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] index) {
+        int retVal = 0;
+        int shift = 0;
+
+        while (index[0] < data.length && shift < 35) {
+            byte b = data[index[0]++];
+            retVal |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return retVal;
+            }
+            shift += 7;
+        }
+
+        return -1;
+    }
+}
@@ -7,6 +7,15 @@ import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 
 public class LocationUtil {
+    private static final boolean[] ignitable;
+    static {
+        Material[] materials = Material.values();
+        ignitable = new boolean[materials.length];
+        for (Material type : materials) {
+            ignitable[type.ordinal()] = !type.isSolid() && !type.name().contains("WATER") && !type.name().contains("LAVA");
+        }
+    }
+
     private LocationUtil() { }
 
     public static boolean isBlockEqual(Location one, Location two) {
@@ -16,7 +25,7 @@ public class LocationUtil {
                 && one.getBlockZ() == two.getBlockZ();
     }
 
-    public static boolean canIgnite(Material type) { return !type.isSolid() && !type.name().contains("WATER") && !type.name().contains("LAVA"); }
+    public static boolean canIgnite(Material type) { return ignitable[type.ordinal()]; }
 
     public static boolean isFinite(Vector vec) {
         try {
@@ -0,0 +1,382 @@
+package me.egg82.ae.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import me.egg82.ae.api.AdvancedEnchantment;
+import me.egg82.ae.api.GenericEnchantment;
+import org.bukkit.ChatColor;
+
+/**
+ * Parses and renders the enchant and soul lines in item lore.
+ *
+ * Names are matched through the enchant name trie directly on the lore line,
+ * numerals up to {@link #MAX_TABLE_LEVEL} come from precomputed tables and
+ * rendered lines are built once per (enchant, level) and reused.
+ */
+public class LoreCodec {
+    public static final int MAX_TABLE_LEVEL = 3999;
+    private static final int MAX_CACHED_ENCHANT_LEVEL = 255;
+    private static final int MAX_PACKED_LENGTH = 15; // 4 bits per numeral in a long
+
+    private static final String SOULS_PREFIX = "Souls:";
+    private static final String SOULS_LINE_PREFIX = ChatColor.GRAY + SOULS_PREFIX + " ";
+
+    private static final String[] NUMERALS = new String[MAX_TABLE_LEVEL + 1];
+    private static final long[] PACKED_NUMERALS = new long[MAX_TABLE_LEVEL + 1];
+    private static final int[] PACKED_LEVELS = new int[MAX_TABLE_LEVEL + 1];
+
+    private static final String[] SOULS_LINES = new String[MAX_TABLE_LEVEL + 1];
+    private static final Map<GenericEnchantment, String[]> enchantLines = new ConcurrentHashMap<>();
+
+    static {
+        long[][] pairs = new long[MAX_TABLE_LEVEL + 1][];
+        for (int i = 0; i <= MAX_TABLE_LEVEL; i++) {
+            NUMERALS[i] = buildNumerals(i);
+            pairs[i] = new long[] { pack(NUMERALS[i], 0, NUMERALS[i].length()), i };
+        }
+        Arrays.sort(pairs, (a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < pairs.length; i++) {
+            PACKED_NUMERALS[i] = pairs[i][0];
+            PACKED_LEVELS[i] = (int) pairs[i][1];
+        }
+    }
+
+    private LoreCodec() { }
+
+    public static String getNumerals(int level) {
+        if (level <= 0) {
+            return NUMERALS[0];
+        }
+        return level <= MAX_TABLE_LEVEL ? NUMERALS[level] : buildNumerals(level);
+    }
+
+    /**
+     * Returns the level of the numerals in the given region, or -1 if there are none.
+     * Non-numeral characters are ignored, as they always have been.
+     */
+    public static int getLevel(CharSequence chars, int start, int end) {
+        long packed = pack(chars, start, end);
+        if (packed > 0L) {
+            int index = Arrays.binarySearch(PACKED_NUMERALS, packed);
+            if (index >= 0) {
+                return PACKED_LEVELS[index];
+            }
+        }
+        return parseLenient(chars, start, end);
+    }
+
+    /**
+     * Adds the enchant on the given lore line to the map, if the line is an enchant line.
+     */
+    public static boolean decodeEnchant(String line, Map<GenericEnchantment, Integer> into) {
+        String stripped = stripColor(line);
+        int start = trimStart(stripped);
+        int end = trimEnd(stripped, start);
+        int tokenStart = lastTokenStart(stripped, start, end);
+        if (tokenStart < 0) {
+            return false;
+        }
+
+        AdvancedEnchantment enchant = AdvancedEnchantment.getByName(stripped, start, tokenStart);
+        if (enchant == null) {
+            return false;
+        }
+
+        int level = getLevel(stripped, tokenStart, end);
+        if (level < 0) {
+            return false;
+        }
+
+        into.put(enchant, level);
+        return true;
+    }
+
+    /**
+     * Returns the souls on the given lore line, or -1 if the line is not a souls line.
+     */
+    public static int decodeSouls(String line) {
+        String stripped = stripColor(line);
+        int start = trimStart(stripped);
+        int end = trimEnd(stripped, start);
+        int tokenStart = lastTokenStart(stripped, start, end);
+        if (tokenStart < 0 || !isSoulsPrefix(stripped, start)) {
+            return -1;
+        }
+
+        return getLevel(stripped, tokenStart, end);
+    }
+
+    public static boolean isSoulsLine(String line) {
+        String stripped = stripColor(line);
+        int start = trimStart(stripped);
+        return lastTokenStart(stripped, start, trimEnd(stripped, start)) >= 0 && isSoulsPrefix(stripped, start);
+    }
+
+    public static boolean isEnchantOrSoulsLine(String line) {
+        String stripped = stripColor(line);
+        int start = trimStart(stripped);
+        int tokenStart = lastTokenStart(stripped, start, trimEnd(stripped, start));
+        if (tokenStart < 0) {
+            return false;
+        }
+        return isSoulsPrefix(stripped, start) || AdvancedEnchantment.getByName(stripped, start, tokenStart) != null;
+    }
+
+    public static String renderEnchant(GenericEnchantment enchantment, int level) {
+        if (level >= 0 && level <= Math.min(enchantment.getMaxLevel(), MAX_CACHED_ENCHANT_LEVEL)) {
+            return enchantLines.computeIfAbsent(enchantment, LoreCodec::buildEnchantLines)[level];
+        }
+        return buildEnchantLine(enchantment, level);
+    }
+
+    public static String renderSouls(int souls) {
+        if (souls < 0 || souls > MAX_TABLE_LEVEL) {
+            return SOULS_LINE_PREFIX + getNumerals(souls);
+        }
+
+        String retVal = SOULS_LINES[souls];
+        if (retVal == null) {
+            retVal = SOULS_LINE_PREFIX + NUMERALS[souls];
+            SOULS_LINES[souls] = retVal;
+        }
+        return retVal;
+    }
+
+    private static String[] buildEnchantLines(GenericEnchantment enchantment) {
+        String[] retVal = new String[Math.min(enchantment.getMaxLevel(), MAX_CACHED_ENCHANT_LEVEL) + 1];
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = buildEnchantLine(enchantment, i);
+        }
+        return retVal;
+    }
+
+    private static String buildEnchantLine(GenericEnchantment enchantment, int level) {
+        return (enchantment.isCurse() ? ChatColor.RED : ChatColor.GRAY) + enchantment.getFriendlyName() + " " + getNumerals(level);
+    }
+
+    private static boolean isSoulsPrefix(String stripped, int start) {
+        int end = start + SOULS_PREFIX.length();
+        return stripped.startsWith(SOULS_PREFIX, start) && end < stripped.length() && Character.isWhitespace(stripped.charAt(end));
+    }
+
+    /**
+     * Same result as {@link ChatColor#stripColor(String)}, but returns the line itself
+     * when there is nothing to strip.
+     */
+    private static String stripColor(String line) {
+        int index = line.indexOf(ChatColor.COLOR_CHAR);
+        if (index < 0) {
+            return line;
+        }
+
+        StringBuilder retVal = new StringBuilder(line.length());
+        retVal.append(line, 0, index);
+        for (int i = index; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ChatColor.COLOR_CHAR && i < line.length() - 1 && isColorCode(line.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            retVal.append(c);
+        }
+        return retVal.toString();
+    }
+
+    private static boolean isColorCode(char c) {
+        c = Character.toLowerCase(c);
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'k' && c <= 'o') || c == 'r' || c == 'x';
+    }
+
+    private static int trimStart(String line) {
+        int retVal = 0;
+        while (retVal < line.length() && line.charAt(retVal) <= ' ') {
+            retVal++;
+        }
+        return retVal;
+    }
+
+    private static int trimEnd(String line, int start) {
+        int retVal = line.length();
+        while (retVal > start && line.charAt(retVal - 1) <= ' ') {
+            retVal--;
+        }
+        return retVal;
+    }
+
+    /**
+     * Returns the start of the last whitespace-separated token, or -1 if the region holds fewer than two tokens.
+     */
+    private static int lastTokenStart(String line, int start, int end) {
+        for (int i = end - 1; i > start; i--) {
+            if (Character.isWhitespace(line.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static long pack(CharSequence chars, int start, int end) {
+        if (end - start <= 0 || end - start > MAX_PACKED_LENGTH) {
+            return -1L;
+        }
+
+        long retVal = 0L;
+        for (int i = start; i < end; i++) {
+            int code = getCode(chars.charAt(i));
+            if (code == 0) {
+                return -1L;
+            }
+            retVal = (retVal << 4) | code;
+        }
+        return retVal;
+    }
+
+    private static int getCode(char c) {
+        switch (c) {
+            case 'I':
+                return 1;
+            case 'V':
+                return 2;
+            case 'X':
+                return 3;
+            case 'L':
+                return 4;
+            case 'C':
+                return 5;
+            case 'D':
+                return 6;
+            case 'M':
+                return 7;
+            case 'O':
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    private static int parseLenient(CharSequence chars, int start, int end) {
+        int retVal = 0;
+        boolean found = false;
+
+        int i = nextNumeral(chars, start, end);
+        while (i < end) {
+            found = true;
+            int next = nextNumeral(chars, i + 1, end);
+            int one = getValue(Character.toUpperCase(chars.charAt(i)));
+            int two = next < end ? getValue(Character.toUpperCase(chars.charAt(next))) : -1;
+
+            if (one <= 0) {
+                i = next;
+                continue;
+            }
+            if (next < end && two <= 0) {
+                i = nextNumeral(chars, next + 1, end);
+                continue;
+            }
+
+            if (one < two) {
+                retVal += two - one;
+                i = nextNumeral(chars, next + 1, end);
+            } else {
+                retVal += one;
+                i = next;
+            }
+        }
+
+        return found ? retVal : -1;
+    }
+
+    private static int nextNumeral(CharSequence chars, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (getCode(Character.toUpperCase(chars.charAt(i))) != 0) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int getValue(char c) {
+        switch (c) {
+            case 'I':
+                return 1;
+            case 'V':
+                return 5;
+            case 'X':
+                return 10;
+            case 'L':
+                return  50;
+            case 'C':
+                return 100;
+            case 'D':
+                return 500;
+            case 'M':
+                return 1000;
+            default:
+                return 0;
+        }
+    }
+
+    private static String buildNumerals(int level) {
+        if (level <= 0) {
+            return "O";
+        }
+
+        StringBuilder retVal = new StringBuilder();
+
+        while (level >= 1000) {
+            retVal.append('M');
+            level -= 1000;
+        }
+        while (level >= 900) {
+            retVal.append("CM");
+            level -= 900;
+        }
+        while (level >= 500) {
+            retVal.append('D');
+            level -= 500;
+        }
+        while (level >= 400) {
+            retVal.append("CD");
+            level -= 400;
+        }
+        while (level >= 100) {
+            retVal.append('C');
+            level -= 100;
+        }
+        while (level >= 90) {
+            retVal.append("XC");
+            level -= 90;
+        }
+        while (level >= 50) {
+            retVal.append('L');
+            level -= 50;
+        }
+        while (level >= 40) {
+            retVal.append("XL");
+            level -= 40;
+        }
+        while (level >= 10) {
+            retVal.append('X');
+            level -= 10;
+        }
+        while (level >= 9) {
+            retVal.append("IX");
+            level -= 9;
+        }
+        while (level >= 5) {
+            retVal.append('V');
+            level -= 5;
+        }
+        while (level >= 4) {
+            retVal.append("IV");
+            level -= 4;
+        }
+        while (level >= 1) {
+            retVal.append('I');
+            level -= 1;
+        }
+
+        return retVal.toString();
+    }
+}
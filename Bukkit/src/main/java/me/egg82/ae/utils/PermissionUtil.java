@@ -1,9 +1,10 @@
 package me.egg82.ae.utils;
 
+import me.egg82.ae.services.PermissionCache;
 import org.bukkit.entity.Player;
 
 public class PermissionUtil {
     private PermissionUtil() { }
 
-    public static boolean canUseEnchant(Object obj, String node) { return !(obj instanceof Player) || ((Player) obj).hasPermission(node); }
+    public static boolean canUseEnchant(Object obj, int node) { return !(obj instanceof Player) || PermissionCache.hasPermission((Player) obj, node); }
 }
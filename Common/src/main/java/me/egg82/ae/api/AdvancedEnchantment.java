@@ -15,6 +15,7 @@ public abstract class AdvancedEnchantment extends GenericEnchantment {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private static final Set<AdvancedEnchantment> allEnchantments = new HashSet<>(); // Needs to be set BEFORE the enchants are defined, else NPE
+    private static final EnchantNameIndex<AdvancedEnchantment> nameIndex = new EnchantNameIndex<>(); // Same as above
 
     public static final AdvancedEnchantment AEGIS = new AegisEnchantment();
     public static final AdvancedEnchantment AERIAL = new AerialEnchantment();
@@ -69,13 +70,20 @@ public abstract class AdvancedEnchantment extends GenericEnchantment {
 
     public static Set<AdvancedEnchantment> values() { return ImmutableSet.copyOf(allEnchantments); }
 
-    public static Optional<AdvancedEnchantment> getByName(String name) {
-        for (AdvancedEnchantment enchantment : allEnchantments) {
-            if (enchantment.name.equalsIgnoreCase(name) || enchantment.friendlyName.equalsIgnoreCase(name)) {
-                return Optional.of(enchantment);
-            }
+    public static Optional<AdvancedEnchantment> getByName(String name) { return Optional.ofNullable(nameIndex.get(name)); }
+
+    /**
+     * Looks up an enchant by name or friendly name from a region of the given characters,
+     * without copying them. Returns null if there is no match.
+     */
+    public static AdvancedEnchantment getByName(CharSequence chars, int start, int end) {
+        if (chars == null) {
+            throw new IllegalArgumentException("chars cannot be null.");
         }
-        return Optional.empty();
+        if (start < 0 || end > chars.length() || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + chars.length());
+        }
+        return nameIndex.get(chars, start, end);
     }
 
     public static Optional<AdvancedEnchantment> getByUuid(UUID uuid) {
@@ -95,5 +103,7 @@ public abstract class AdvancedEnchantment extends GenericEnchantment {
         }
 
         allEnchantments.add(this);
+        nameIndex.put(name, this);
+        nameIndex.put(friendlyName, this);
     }
 }
@@ -0,0 +1,107 @@
+package me.egg82.ae.api;
+
+import java.util.Arrays;
+
+/**
+ * Case-insensitive trie over enchant names and friendly names.
+ *
+ * Lookups run directly over a region of a string, treating any run of
+ * whitespace as a single space, so lore lines can be matched without
+ * splitting, joining or lower-casing them first.
+ */
+class EnchantNameIndex<T> {
+    private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+
+    private final Node<T> root = new Node<>('\0');
+
+    EnchantNameIndex() { }
+
+    synchronized void put(String name, T value) {
+        if (name == null) {
+            throw new IllegalArgumentException("name cannot be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null.");
+        }
+
+        Node<T> node = root;
+        boolean space = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = node != root;
+                continue;
+            }
+            if (space) {
+                node = node.getOrAdd(' ');
+                space = false;
+            }
+            node = node.getOrAdd(Character.toLowerCase(c));
+        }
+
+        if (node != root && node.value == null) {
+            node.value = value;
+        }
+    }
+
+    T get(CharSequence chars) { return chars == null ? null : get(chars, 0, chars.length()); }
+
+    T get(CharSequence chars, int start, int end) {
+        Node<T> node = root;
+        boolean space = false;
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = node != root;
+                continue;
+            }
+            if (space) {
+                node = node.get(' ');
+                if (node == null) {
+                    return null;
+                }
+                space = false;
+            }
+            node = node.get(Character.toLowerCase(c));
+            if (node == null) {
+                return null;
+            }
+        }
+        return node.value;
+    }
+
+    private static class Node<T> {
+        private final char key;
+        private volatile Node<T>[] children = emptyChildren();
+        private volatile T value = null;
+
+        private Node(char key) { this.key = key; }
+
+        private Node<T> get(char c) {
+            Node<T>[] current = children;
+            for (Node<T> child : current) {
+                if (child.key == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private Node<T> getOrAdd(char c) {
+            Node<T> retVal = get(c);
+            if (retVal != null) {
+                return retVal;
+            }
+
+            Node<T>[] current = children;
+            Node<T>[] next = Arrays.copyOf(current, current.length + 1);
+            retVal = new Node<>(c);
+            next[current.length] = retVal;
+            children = next;
+            return retVal;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] emptyChildren() { return (Node<T>[]) NO_CHILDREN; }
+    }
+}
@@ -0,0 +1,86 @@
+package me.egg82.ae.api;
+
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Immutable view of an item's enchants and souls.
+ *
+ * Safe to read from any thread. Items publish a new snapshot after every
+ * change, so async readers (chat, analytics) see either the old or the new
+ * state, never a half-written one. Use {@link #toBuilder()} to derive a
+ * changed copy.
+ */
+public final class EnchantSnapshot {
+    public static final EnchantSnapshot EMPTY = new EnchantSnapshot(new EnchantmentLevels(), 0);
+
+    private final EnchantmentLevels levels; // Never mutated after construction
+    private final int souls;
+
+    EnchantSnapshot(EnchantmentLevels levels, int souls) {
+        this.levels = new EnchantmentLevels(levels);
+        this.souls = souls;
+    }
+
+    public static EnchantSnapshot.Builder builder() { return new EnchantSnapshot.Builder(EMPTY); }
+
+    public EnchantSnapshot.Builder toBuilder() { return new EnchantSnapshot.Builder(this); }
+
+    public boolean hasEnchantment(GenericEnchantment enchantment) { return levels.contains(enchantment); }
+
+    public int getEnchantmentLevel(GenericEnchantment enchantment) { return levels.get(enchantment); }
+
+    public int getNumEnchantments() { return levels.size(); }
+
+    public int getSouls() { return souls; }
+
+    public void forEach(ObjIntConsumer<GenericEnchantment> consumer) { levels.forEach(consumer); }
+
+    public Map<GenericEnchantment, Integer> getEnchantments() { return levels.toMap(); }
+
+    EnchantmentLevels getLevels() { return levels; }
+
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EnchantSnapshot)) return false;
+        EnchantSnapshot that = (EnchantSnapshot) o;
+        return souls == that.souls && levels.equals(that.levels);
+    }
+
+    public int hashCode() { return 31 * levels.hashCode() + souls; }
+
+    public static class Builder {
+        private final EnchantmentLevels levels;
+        private int souls;
+
+        private Builder(EnchantSnapshot from) {
+            this.levels = new EnchantmentLevels(from.levels);
+            this.souls = from.souls;
+        }
+
+        public EnchantSnapshot.Builder level(GenericEnchantment enchantment, int level) {
+            if (enchantment == null) {
+                throw new IllegalArgumentException("enchantment cannot be null.");
+            }
+            levels.set(enchantment, level);
+            return this;
+        }
+
+        public EnchantSnapshot.Builder levels(Map<GenericEnchantment, Integer> enchantments) {
+            levels.setAll(enchantments);
+            return this;
+        }
+
+        public EnchantSnapshot.Builder remove(GenericEnchantment enchantment) {
+            levels.remove(enchantment);
+            return this;
+        }
+
+        public EnchantSnapshot.Builder souls(int souls) {
+            this.souls = souls;
+            return this;
+        }
+
+        public EnchantSnapshot build() { return new EnchantSnapshot(levels, souls); }
+    }
+}
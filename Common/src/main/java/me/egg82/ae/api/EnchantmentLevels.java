@@ -0,0 +1,198 @@
+package me.egg82.ae.api;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Enchantment levels of a single item, indexed by {@link GenericEnchantment#getId()}.
+ *
+ * Levels live in a primitive vector with a presence bitset next to it, so
+ * lookups don't box and copying an item's enchants is a pair of array copies.
+ * Not thread-safe.
+ */
+public final class EnchantmentLevels {
+    private static final short[] NO_LEVELS = new short[0];
+    private static final long[] NO_PRESENCE = new long[0];
+
+    private short[] levels = NO_LEVELS;
+    private long[] present = NO_PRESENCE;
+    private int size = 0;
+
+    public EnchantmentLevels() { }
+
+    public EnchantmentLevels(EnchantmentLevels other) {
+        if (other == null) {
+            throw new IllegalArgumentException("other cannot be null.");
+        }
+        setAll(other);
+    }
+
+    public boolean contains(GenericEnchantment enchantment) { return enchantment != null && isPresent(enchantment.getId()); }
+
+    /**
+     * Returns the level of the enchantment, or -1 if the enchantment is not present.
+     */
+    public int get(GenericEnchantment enchantment) {
+        if (enchantment == null) {
+            return -1;
+        }
+        int id = enchantment.getId();
+        return isPresent(id) ? levels[id] : -1;
+    }
+
+    /**
+     * Sets the level of the enchantment. Negative levels remove it.
+     */
+    public void set(GenericEnchantment enchantment, int level) {
+        if (enchantment == null) {
+            return;
+        }
+        if (level < 0) {
+            remove(enchantment);
+            return;
+        }
+
+        int id = enchantment.getId();
+        ensureCapacity(id + 1);
+        levels[id] = (short) Math.min(level, Short.MAX_VALUE);
+        if (!isPresent(id)) {
+            present[id >>> 6] |= 1L << id;
+            size++;
+        }
+    }
+
+    public void setAll(Map<GenericEnchantment, Integer> enchantments) {
+        if (enchantments == null) {
+            return;
+        }
+        for (Map.Entry<GenericEnchantment, Integer> kvp : enchantments.entrySet()) {
+            set(kvp.getKey(), kvp.getValue() == null ? -1 : kvp.getValue());
+        }
+    }
+
+    public void setAll(EnchantmentLevels other) {
+        if (other == null || other == this) {
+            return;
+        }
+        if (isEmpty()) {
+            levels = other.levels.length == 0 ? NO_LEVELS : Arrays.copyOf(other.levels, other.levels.length);
+            present = other.present.length == 0 ? NO_PRESENCE : Arrays.copyOf(other.present, other.present.length);
+            size = other.size;
+            return;
+        }
+        for (int id = other.nextId(0); id >= 0; id = other.nextId(id + 1)) {
+            set(GenericEnchantment.getById(id), other.levels[id]);
+        }
+    }
+
+    public boolean remove(GenericEnchantment enchantment) {
+        if (enchantment == null) {
+            return false;
+        }
+
+        int id = enchantment.getId();
+        if (!isPresent(id)) {
+            return false;
+        }
+        present[id >>> 6] &= ~(1L << id);
+        levels[id] = 0;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(levels, (short) 0);
+        Arrays.fill(present, 0L);
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the next present enchantment id at or after {@code fromId}, or -1 if there is none.
+     */
+    public int nextId(int fromId) {
+        if (fromId < 0) {
+            fromId = 0;
+        }
+
+        int word = fromId >>> 6;
+        if (word >= present.length) {
+            return -1;
+        }
+
+        long bits = present[word] & (-1L << fromId);
+        while (true) {
+            if (bits != 0L) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word >= present.length) {
+                return -1;
+            }
+            bits = present[word];
+        }
+    }
+
+    public void forEach(ObjIntConsumer<GenericEnchantment> consumer) {
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            consumer.accept(GenericEnchantment.getById(id), levels[id]);
+        }
+    }
+
+    public Map<GenericEnchantment, Integer> toMap() {
+        if (isEmpty()) {
+            return ImmutableMap.of();
+        }
+
+        ImmutableMap.Builder<GenericEnchantment, Integer> retVal = ImmutableMap.builder();
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            retVal.put(GenericEnchantment.getById(id), (int) levels[id]);
+        }
+        return retVal.build();
+    }
+
+    private boolean isPresent(int id) {
+        int word = id >>> 6;
+        return word < present.length && (present[word] & (1L << id)) != 0L;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= levels.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, GenericEnchantment.getRegisteredCount());
+        levels = Arrays.copyOf(levels, newCapacity);
+        int words = (newCapacity + 63) >>> 6;
+        if (words > present.length) {
+            present = Arrays.copyOf(present, words);
+        }
+    }
+
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EnchantmentLevels)) return false;
+        EnchantmentLevels that = (EnchantmentLevels) o;
+        if (size != that.size) {
+            return false;
+        }
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            if (!that.isPresent(id) || levels[id] != that.levels[id]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int hashCode() {
+        int retVal = 1;
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            retVal = 31 * retVal + (id * 31 + levels[id]);
+        }
+        return retVal;
+    }
+}
@@ -1,14 +1,17 @@
 package me.egg82.ae.api;
 
-import com.google.common.collect.ImmutableMap;
 import java.util.*;
+import java.util.function.ObjIntConsumer;
 
 public abstract class GenericEnchantableItem {
     protected Object concrete;
 
     protected int souls = 0;
     protected final Set<GenericEnchantmentTarget> targets = new HashSet<>();
-    protected final Map<GenericEnchantment, Integer> enchantments = new HashMap<>();
+    protected final EnchantmentLevels enchantments = new EnchantmentLevels();
+
+    // Reads go through the published snapshot so they're safe from any thread
+    private volatile EnchantSnapshot snapshot = EnchantSnapshot.EMPTY;
 
     public GenericEnchantableItem(Object concrete) {
         this.concrete = concrete;
@@ -18,24 +21,24 @@ public abstract class GenericEnchantableItem {
 
     public Set<GenericEnchantmentTarget> getEnchantmentTargets() { return targets; }
 
-    public boolean hasEnchantment(GenericEnchantment enchantment) { return enchantment != null && enchantments.containsKey(enchantment); }
+    public boolean hasEnchantment(GenericEnchantment enchantment) { return enchantment != null && snapshot.hasEnchantment(enchantment); }
 
-    public int getEnchantmentLevel(GenericEnchantment enchantment) { return enchantment == null ? -1 : enchantments.computeIfAbsent(enchantment, k -> -1); }
+    public int getEnchantmentLevel(GenericEnchantment enchantment) { return snapshot.getEnchantmentLevel(enchantment); }
 
     public void setEnchantmentLevel(GenericEnchantment enchantment, int level) {
         if (enchantment == null) {
             return;
         }
-        enchantments.compute(enchantment, (k, v) -> level < 0 ? null : level);
+        enchantments.set(enchantment, level);
+        publishSnapshot();
     }
 
     public void setEnchantmentLevels(Map<GenericEnchantment, Integer> enchantments) {
         if (enchantments == null || enchantments.isEmpty()) {
             return;
         }
-        for (Map.Entry<GenericEnchantment, Integer> kvp : enchantments.entrySet()) {
-            this.enchantments.compute(kvp.getKey(), (k, v) -> kvp.getValue() == null || kvp.getValue() < 0 ? null : kvp.getValue());
-        }
+        this.enchantments.setAll(enchantments);
+        publishSnapshot();
     }
 
     public void addEnchantment(GenericEnchantment enchantment) { setEnchantmentLevel(enchantment, enchantment.getMinLevel()); }
@@ -59,6 +62,7 @@ public abstract class GenericEnchantableItem {
             return;
         }
         enchantments.remove(enchantment);
+        publishSnapshot();
     }
 
     public void removeEnchantments(Collection<GenericEnchantment> enchantments) {
@@ -70,13 +74,45 @@ public abstract class GenericEnchantableItem {
                 this.enchantments.remove(enchantment);
             }
         }
+        publishSnapshot();
     }
 
-    public Map<GenericEnchantment, Integer> getEnchantments() { return ImmutableMap.copyOf(enchantments); }
+    public Map<GenericEnchantment, Integer> getEnchantments() { return snapshot.getEnchantments(); }
+
+    public void forEachEnchantment(ObjIntConsumer<GenericEnchantment> consumer) { snapshot.forEach(consumer); }
+
+    public int getSouls() { return snapshot.getSouls(); }
+
+    public void setSouls(int souls) {
+        this.souls = souls;
+        publishSnapshot();
+    }
 
-    public int getSouls() { return souls; }
+    /**
+     * Returns the current enchants and souls as an immutable snapshot that may be read from any thread.
+     */
+    public EnchantSnapshot getSnapshot() { return snapshot; }
+
+    /**
+     * Replaces all enchants and souls with the given snapshot, usually one made with {@link EnchantSnapshot#toBuilder()}.
+     */
+    public void setSnapshot(EnchantSnapshot snapshot) { loadSnapshot(snapshot); }
+
+    protected final void loadSnapshot(EnchantSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("snapshot cannot be null.");
+        }
+
+        enchantments.clear();
+        enchantments.setAll(snapshot.getLevels());
+        souls = snapshot.getSouls();
+        this.snapshot = snapshot;
+    }
 
-    public void setSouls(int souls) { this.souls = souls; }
+    /**
+     * Publishes the current enchants and souls. Subclasses that change them directly must call this afterwards.
+     */
+    protected final void publishSnapshot() { snapshot = new EnchantSnapshot(enchantments, souls); }
 
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -8,6 +8,34 @@ import org.slf4j.LoggerFactory;
 public abstract class GenericEnchantment {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private static final Object registryLock = new Object();
+    private static volatile GenericEnchantment[] registry = new GenericEnchantment[64];
+    private static volatile int registered = 0;
+
+    /**
+     * Returns the enchantment with the given dense id, or null if there is none.
+     */
+    public static GenericEnchantment getById(int id) {
+        GenericEnchantment[] current = registry;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * Returns the number of ids handed out so far. Ids are always in [0, getRegisteredCount()).
+     */
+    public static int getRegisteredCount() { return registered; }
+
+    private static int register(GenericEnchantment enchantment) {
+        synchronized (registryLock) {
+            int id = registered;
+            GenericEnchantment[] next = id < registry.length ? registry : Arrays.copyOf(registry, registry.length * 2);
+            next[id] = enchantment;
+            registry = next;
+            registered = id + 1;
+            return id;
+        }
+    }
+
     protected final UUID uuid;
     protected final String name;
     protected final String friendlyName;
@@ -20,6 +48,7 @@ public abstract class GenericEnchantment {
 
     protected Object concrete;
 
+    private final int id;
     private final int hash;
 
     public GenericEnchantment(UUID uuid, String name, String friendlyName, boolean isCurse, int minLevel, int maxLevel, Object concrete) {
@@ -42,8 +71,14 @@ public abstract class GenericEnchantment {
 
         this.concrete = concrete;
         this.hash = Objects.hash(uuid);
+        this.id = register(this);
     }
 
+    /**
+     * Dense, per-startup id of this enchantment. Not stable across restarts, so never persist it.
+     */
+    public final int getId() { return id; }
+
     public final UUID getUUID() { return uuid; }
 
     public final String getName() { return name; }
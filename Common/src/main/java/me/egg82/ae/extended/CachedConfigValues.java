@@ -1,6 +1,7 @@
 package me.egg82.ae.extended;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 public class CachedConfigValues {
     private CachedConfigValues() {}
@@ -26,6 +27,21 @@ public class CachedConfigValues {
     private double lootCurseChance = 0.00126;
     public double getLootCurseChance() { return lootCurseChance; }
 
+    private long itemCacheSize = 10000L;
+    public long getItemCacheSize() { return itemCacheSize; }
+
+    private long itemCacheTime = 300000L;
+    public long getItemCacheTime() { return itemCacheTime; }
+
+    private boolean staggerTasks = false;
+    public boolean getStaggerTasks() { return staggerTasks; }
+
+    private long areaBreakBudget = 2000000L;
+    public long getAreaBreakBudget() { return areaBreakBudget; }
+
+    private int areaBreakBlocks = 64;
+    public int getAreaBreakBlocks() { return areaBreakBlocks; }
+
     public static CachedConfigValues.Builder builder() { return new CachedConfigValues.Builder(); }
 
     public static class Builder {
@@ -67,6 +83,31 @@ public class CachedConfigValues {
             return this;
         }
 
+        public CachedConfigValues.Builder itemCacheSize(long value) {
+            values.itemCacheSize = value;
+            return this;
+        }
+
+        public CachedConfigValues.Builder itemCacheTime(long value, TimeUnit unit) {
+            values.itemCacheTime = unit.toMillis(value);
+            return this;
+        }
+
+        public CachedConfigValues.Builder staggerTasks(boolean value) {
+            values.staggerTasks = value;
+            return this;
+        }
+
+        public CachedConfigValues.Builder areaBreakBudget(long value, TimeUnit unit) {
+            values.areaBreakBudget = unit.toNanos(value);
+            return this;
+        }
+
+        public CachedConfigValues.Builder areaBreakBlocks(int value) {
+            values.areaBreakBlocks = value;
+            return this;
+        }
+
         public CachedConfigValues build() { return values; }
     }
 }
@@ -36,4 +36,22 @@ public class ConfigUtil {
         Optional<CachedConfigValues> cachedConfig = getCachedConfig();
         return cachedConfig.isPresent() && cachedConfig.get().getParticles();
     }
+
+    public static boolean getStaggerTasksOrFalse() {
+        Optional<CachedConfigValues> cachedConfig = getCachedConfig();
+        return cachedConfig.isPresent() && cachedConfig.get().getStaggerTasks();
+    }
+
+    /**
+     * Returns the time area breaks may take each tick, in nanoseconds
+     */
+    public static long getAreaBreakBudgetOrDefault() {
+        Optional<CachedConfigValues> cachedConfig = getCachedConfig();
+        return cachedConfig.isPresent() ? cachedConfig.get().getAreaBreakBudget() : 2000000L;
+    }
+
+    public static int getAreaBreakBlocksOrDefault() {
+        Optional<CachedConfigValues> cachedConfig = getCachedConfig();
+        return cachedConfig.isPresent() ? cachedConfig.get().getAreaBreakBlocks() : 64;
+    }
 }
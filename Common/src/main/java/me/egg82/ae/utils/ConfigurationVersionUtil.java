@@ -25,6 +25,15 @@ public class ConfigurationVersionUtil {
         if (config.getNode("version").getDouble() == 1.2d) {
             to13(config);
         }
+        if (config.getNode("version").getDouble() == 1.3d) {
+            to14(config);
+        }
+        if (config.getNode("version").getDouble() == 1.4d) {
+            to15(config);
+        }
+        if (config.getNode("version").getDouble() == 1.5d) {
+            to16(config);
+        }
 
         if (config.getNode("version").getDouble() != oldVersion) {
             File backupFile = new File(fileOnDisk.getParent(), fileOnDisk.getName() + ".bak");
@@ -67,4 +76,30 @@ public class ConfigurationVersionUtil {
         // Version
         config.getNode("version").setValue(1.3d);
     }
+
+    private static void to14(ConfigurationNode config) {
+        // Add item cache
+        config.getNode("cache", "items", "size").setValue(10000L);
+        config.getNode("cache", "items", "time").setValue("5minutes");
+
+        // Version
+        config.getNode("version").setValue(1.4d);
+    }
+
+    private static void to15(ConfigurationNode config) {
+        // Add task staggering
+        config.getNode("stagger-tasks").setValue(Boolean.FALSE);
+
+        // Version
+        config.getNode("version").setValue(1.5d);
+    }
+
+    private static void to16(ConfigurationNode config) {
+        // Add area break budget
+        config.getNode("area-break", "budget").setValue(2.0d);
+        config.getNode("area-break", "blocks").setValue(64);
+
+        // Version
+        config.getNode("version").setValue(1.6d);
+    }
 }